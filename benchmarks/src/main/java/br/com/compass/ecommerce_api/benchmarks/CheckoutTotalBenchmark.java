@@ -0,0 +1,75 @@
+package br.com.compass.ecommerce_api.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import br.com.compass.ecommerce_api.projections.CheckoutItemProjection;
+
+/**
+ * The cart total computed in {@code PurchaseService.performPurchase}, as written there with a
+ * stream, and the same sum as a plain loop over the checkout projections.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CheckoutTotalBenchmark {
+
+    @Param({"3", "30"})
+    private int items;
+
+    private List<CheckoutItemProjection> cart;
+
+    @Setup
+    public void setUp() {
+        SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+        cart = new ArrayList<>(items);
+
+        for (long id = 1; id <= items; id++) {
+            cart.add(projectionFactory.createProjection(CheckoutItemProjection.class, Map.of(
+                "productId", id,
+                "productName", "Product " + id,
+                "amount", new BigDecimal("19.90").add(BigDecimal.valueOf(id)),
+                "quantity", (int) (id % 4 + 1),
+                "stockQuantity", 100,
+                "timesPurchased", 0
+            )));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal stream() {
+        return cart.stream()
+            .map(item -> item.getAmount().multiply(BigDecimal.valueOf(item.getQuantity())))
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal loop() {
+        BigDecimal total = BigDecimal.ZERO;
+
+        for (CheckoutItemProjection item : cart) {
+            total = total.add(item.getAmount().multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+
+        return total;
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.compass.ecommerce_api.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+
+/**
+ * Cost of persisting one bulk write, the shape of an import batch or a checkout, under both
+ * id mappings. {@code identity} reproduces the previous mapping, where Hibernate runs every
+ * INSERT on its own to read the generated key. {@code pooledLo} uses the current table-backed
+ * pooled-lo generator with a batch size of 50. Runs on in-memory H2, which has no network
+ * round trip, so the gap is wider against MySQL.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsertBatchingBenchmark {
+
+    @Param({"50", "500"})
+    private int rows;
+
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setUp() {
+        StandardServiceRegistryBuilder registry = new StandardServiceRegistryBuilder()
+            .applySetting(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:inserts;DB_CLOSE_DELAY=-1")
+            .applySetting(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+            .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+            .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, 50)
+            .applySetting(AvailableSettings.ORDER_INSERTS, true)
+            .applySetting(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+
+        sessionFactory = new MetadataSources(registry.build())
+            .addAnnotatedClass(IdentityRow.class)
+            .addAnnotatedClass(PooledLoRow.class)
+            .buildMetadata()
+            .buildSessionFactory();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public void identity() {
+        insert(IdentityRow::new);
+    }
+
+    @Benchmark
+    public void pooledLo() {
+        insert(PooledLoRow::new);
+    }
+
+    private void insert(IntFunction<Object> row) {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < rows; i++) {
+                session.persist(row.apply(i));
+            }
+        });
+    }
+
+    @Entity
+    @Table(name = "identity_rows")
+    public static class IdentityRow {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+        private String name;
+        private BigDecimal amount;
+
+        protected IdentityRow() {
+        }
+
+        IdentityRow(int i) {
+            this.name = "Product " + i;
+            this.amount = BigDecimal.valueOf(i);
+        }
+    }
+
+    @Entity
+    @Table(name = "pooled_lo_rows")
+    public static class PooledLoRow {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.TABLE, generator = "pooled_lo_rows_id")
+        @TableGenerator(name = "pooled_lo_rows_id", table = "id_generators", pkColumnValue = "pooled_lo_rows", allocationSize = 50)
+        private Long id;
+        private String name;
+        private BigDecimal amount;
+
+        protected PooledLoRow() {
+        }
+
+        PooledLoRow(int i) {
+            this.name = "Product " + i;
+            this.amount = BigDecimal.valueOf(i);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.compass.ecommerce_api.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.compass.ecommerce_api.jwt.JwtService;
+import br.com.compass.ecommerce_api.jwt.JwtToken;
+import br.com.compass.ecommerce_api.jwt.JwtUtils;
+import br.com.compass.ecommerce_api.repositories.RevokedTokenRepository;
+import br.com.compass.ecommerce_api.services.TokenRevocationService;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Per-request cost of authenticating a bearer token. {@code legacy} reproduces the filter's
+ * previous path: a key and parser built for the validity check and again to read the subject.
+ * {@code createToken} is the signing cost paid on every login. The cached path includes the
+ * revocation check against an empty Bloom filter, the common case of a token never revoked.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtParsingBenchmark {
+
+    private String bearerToken;
+    private String token;
+    private JwtParser parser;
+    private JwtService jwtService;
+
+    @Setup
+    public void setUp() {
+        token = JwtUtils.createToken(1L, "benchmark@gmail.com", "CLIENT").getToken();
+        bearerToken = JwtUtils.JWT_BEARER + token;
+        parser = Jwts.parser().verifyWith(legacyKey()).build();
+        jwtService = new JwtService(noRevocations(), 10_000);
+        jwtService.parseToken(bearerToken);
+    }
+
+    @Benchmark
+    public String legacy() {
+        Jwts.parser().verifyWith(legacyKey()).build().parseSignedClaims(token);
+        return Jwts.parser().verifyWith(legacyKey()).build().parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public String sharedParser() {
+        return parser.parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public String jwtServiceCached() {
+        return jwtService.parseToken(bearerToken).getSubject();
+    }
+
+    @Benchmark
+    public JwtToken createToken() {
+        return JwtUtils.createToken(1L, "benchmark@gmail.com", "CLIENT");
+    }
+
+    private static SecretKey legacyKey() {
+        return Keys.hmacShaKeyFor(JwtUtils.SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static TokenRevocationService noRevocations() {
+        RevokedTokenRepository repository = (RevokedTokenRepository) Proxy.newProxyInstance(
+            RevokedTokenRepository.class.getClassLoader(), new Class<?>[] { RevokedTokenRepository.class },
+            (proxy, method, args) -> switch (method.getName()) {
+                case "deleteExpired" -> 0;
+                case "count" -> 0L;
+                case "streamActiveJtis" -> Stream.empty();
+                case "existsByJti" -> false;
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+
+        TokenRevocationService revocation = new TokenRevocationService(repository, new SimpleMeterRegistry(),
+            100_000, 10_000, Duration.ofSeconds(30));
+        revocation.rebuild();
+        return revocation;
+    }
+}
@@ -0,0 +1,158 @@
+package br.com.compass.ecommerce_api.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.compass.ecommerce_api.dtos.CartItemSaveDto;
+import br.com.compass.ecommerce_api.dtos.CursorPageDto;
+import br.com.compass.ecommerce_api.dtos.ProductResponseDto;
+import br.com.compass.ecommerce_api.dtos.ProductSaveDto;
+import br.com.compass.ecommerce_api.dtos.StockResponseDto;
+import br.com.compass.ecommerce_api.dtos.TotalAmountReportDto;
+import br.com.compass.ecommerce_api.dtos.UserResponseDto;
+import br.com.compass.ecommerce_api.dtos.UserSaveDto;
+import br.com.compass.ecommerce_api.dtos.mappers.CartItemMapper;
+import br.com.compass.ecommerce_api.dtos.mappers.CursorPageMapper;
+import br.com.compass.ecommerce_api.dtos.mappers.ProductMapper;
+import br.com.compass.ecommerce_api.dtos.mappers.ReportsMapper;
+import br.com.compass.ecommerce_api.dtos.mappers.StockMapper;
+import br.com.compass.ecommerce_api.dtos.mappers.UserMapper;
+import br.com.compass.ecommerce_api.entities.CartItem;
+import br.com.compass.ecommerce_api.entities.Product;
+import br.com.compass.ecommerce_api.entities.Stock;
+import br.com.compass.ecommerce_api.entities.User;
+import br.com.compass.ecommerce_api.enums.UserRole;
+
+/**
+ * DTO mapping cost of the hand-written mappers against the previous {@code new ModelMapper()}
+ * per call. Run with {@code -prof gc} to report bytes/op alongside ns/op. Pagination mapping
+ * is covered by {@link PageSerializationBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private ProductSaveDto productSaveDto;
+    private Product product;
+    private UserSaveDto userSaveDto;
+    private User user;
+    private Stock stock;
+    private CartItemSaveDto cartItemSaveDto;
+    private List<UserResponseDto> userRows;
+
+    @Setup
+    public void setUp() {
+        productSaveDto = new ProductSaveDto("Millennium Puzzle", "Ancient golden puzzle", new BigDecimal("199.90"));
+
+        product = new Product();
+        product.setId(1L);
+        product.setName(productSaveDto.getName());
+        product.setDescription(productSaveDto.getDescription());
+        product.setAmount(productSaveDto.getAmount());
+
+        userSaveDto = new UserSaveDto("Yugi Muto", "yugi@gmail.com", "123456");
+
+        user = new User();
+        user.setId(1L);
+        user.setName(userSaveDto.getName());
+        user.setEmail(userSaveDto.getEmail());
+        user.setPassword(userSaveDto.getPassword());
+        user.setRole(UserRole.ADMIN);
+
+        stock = new Stock();
+        stock.setId(1L);
+        stock.setProduct(product);
+        stock.setQuantity(10);
+
+        cartItemSaveDto = new CartItemSaveDto(1L, 1L, 2);
+
+        userRows = new ArrayList<>();
+
+        for (int i = 0; i <= 20; i++) {
+            userRows.add(UserMapper.toDto(user));
+        }
+    }
+
+    @Benchmark
+    public Product productToEntity() {
+        return ProductMapper.toProduct(productSaveDto);
+    }
+
+    @Benchmark
+    public Product productToEntityModelMapper() {
+        return new ModelMapper().map(productSaveDto, Product.class);
+    }
+
+    @Benchmark
+    public ProductResponseDto productToDto() {
+        return ProductMapper.toDto(product);
+    }
+
+    @Benchmark
+    public ProductResponseDto productToDtoModelMapper() {
+        return new ModelMapper().map(product, ProductResponseDto.class);
+    }
+
+    @Benchmark
+    public User userToEntity() {
+        return UserMapper.toUser(userSaveDto);
+    }
+
+    @Benchmark
+    public User userToEntityModelMapper() {
+        return new ModelMapper().map(userSaveDto, User.class);
+    }
+
+    @Benchmark
+    public UserResponseDto userToDto() {
+        return UserMapper.toDto(user);
+    }
+
+    @Benchmark
+    public UserResponseDto userToDtoModelMapper() {
+        return new ModelMapper().map(user, UserResponseDto.class);
+    }
+
+    @Benchmark
+    public StockResponseDto stockToDto() {
+        return StockMapper.tDto(stock);
+    }
+
+    @Benchmark
+    public StockResponseDto stockToDtoModelMapper() {
+        return new ModelMapper().map(stock, StockResponseDto.class);
+    }
+
+    @Benchmark
+    public CartItem cartItemToEntity() {
+        return CartItemMapper.toCart(cartItemSaveDto);
+    }
+
+    @Benchmark
+    public TotalAmountReportDto totalAmountToDto() {
+        return ReportsMapper.toTotalAmountDto("month", product.getAmount());
+    }
+
+    @Benchmark
+    public CursorPageDto<UserResponseDto> cursorPageToDto() {
+        return CursorPageMapper.toDto(userRows, 20, row -> CursorPageMapper.toCursor(row.getId()));
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.compass.ecommerce_api.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.compass.ecommerce_api.dtos.PageableDto;
+import br.com.compass.ecommerce_api.dtos.mappers.PageableMapper;
+import br.com.compass.ecommerce_api.projections.ProductProjection;
+
+/**
+ * Cost of turning a page of product projections into the response body: the
+ * {@link PageableMapper} step alone and the mapper plus Jackson serialization. Rows are
+ * proxies from Spring Data's projection factory, the same kind the repositories return.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageSerializationBenchmark {
+
+    @Param({"12", "100"})
+    private int pageSize;
+
+    private Page<ProductProjection> page;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+        List<ProductProjection> content = new ArrayList<>(pageSize);
+
+        for (long id = 1; id <= pageSize; id++) {
+            content.add(projectionFactory.createProjection(ProductProjection.class, Map.of(
+                "id", id,
+                "name", "Product " + id,
+                "description", "Description of product " + id,
+                "amount", new BigDecimal("49.90"),
+                "timesPurchased", (int) id
+            )));
+        }
+
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public PageableDto<ProductProjection> toDto() {
+        return PageableMapper.toDto(page);
+    }
+
+    @Benchmark
+    public byte[] toDtoAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(PageableMapper.toDto(page));
+    }
+}
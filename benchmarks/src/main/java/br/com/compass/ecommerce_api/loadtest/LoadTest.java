@@ -0,0 +1,300 @@
+package br.com.compass.ecommerce_api.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.com.compass.ecommerce_api.EcommerceApiApplication;
+import br.com.compass.ecommerce_api.jwt.JwtUtils;
+
+/**
+ * End-to-end load test. Boots the application on an in-memory H2 database, seeds it with a
+ * {@link LoadTestDataset} and runs a closed workload: each virtual client is a virtual
+ * thread that loops over weighted {@link Scenario}s, sending the next request as soon as the
+ * previous one completes. After the warmup, every endpoint records its latencies in an HDR
+ * histogram, and the run prints throughput and percentiles per endpoint and writes each
+ * full percentile distribution to the output directory.
+ *
+ * <p>Options are given as {@code --name=value}. Names under {@code spring.}, {@code server.},
+ * {@code management.}, {@code logging.} or {@code ecommerce.} are passed to the application,
+ * which is how a run targets MySQL or activates the virtual-threads profile. Tokens are
+ * minted directly, so BCrypt only runs if a scenario logs in.
+ */
+public class LoadTest {
+
+    private static final List<String> APPLICATION_PREFIXES = List.of("spring.", "server.", "management.", "logging.", "ecommerce.");
+
+    private static final Map<String, String> DEFAULT_OPTIONS = Map.ofEntries(
+        Map.entry("users", "1000"),
+        Map.entry("products", "5000"),
+        Map.entry("stock-per-product", "1000000"),
+        Map.entry("carts", "200"),
+        Map.entry("purchases", "20000"),
+        Map.entry("purchase-days", "30"),
+        Map.entry("seed", "42"),
+        Map.entry("concurrency", "64"),
+        Map.entry("warmup", "PT10S"),
+        Map.entry("duration", "PT30S"),
+        Map.entry("mix", Scenario.DEFAULT_MIX),
+        Map.entry("output", "target/load-test")
+    );
+
+    private static final Map<String, String> DEFAULT_PROPERTIES = Map.of(
+        "spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name", "org.h2.Driver",
+        "spring.datasource.username", "sa",
+        "spring.datasource.password", "",
+        "spring.jpa.hibernate.ddl-auto", "create-drop",
+        "spring.jpa.show-sql", "false",
+        "spring.mail.host", "localhost",
+        "server.port", "0",
+        "ecommerce.search.index-path", "",
+        "logging.level.root", "WARN"
+    );
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(REQUEST_TIMEOUT)
+        .build();
+    private final ConcurrentMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final LoadTestDataset dataset;
+    private final URI baseUri;
+    private final String adminToken;
+
+    LoadTest(LoadTestDataset dataset, int port) {
+        this.dataset = dataset;
+        this.baseUri = URI.create("http://localhost:" + port);
+        this.adminToken = JwtUtils.createToken(LoadTestDataset.ADMIN_ID, LoadTestDataset.ADMIN_EMAIL, "ADMIN").getToken();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULT_OPTIONS);
+        Map<String, String> properties = new LinkedHashMap<>(DEFAULT_PROPERTIES);
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException(String.format("Invalid argument {%s}. Use --name=value", arg));
+            }
+
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+
+            if (APPLICATION_PREFIXES.stream().anyMatch(name::startsWith)) {
+                properties.put(name, value);
+            } else if (options.containsKey(name)) {
+                options.put(name, value);
+            } else {
+                throw new IllegalArgumentException(String.format("Unknown option {%s}. Options are %s", name, DEFAULT_OPTIONS.keySet()));
+            }
+        }
+
+        LoadTestDataset dataset = new LoadTestDataset(
+            Integer.parseInt(options.get("users")),
+            Integer.parseInt(options.get("products")),
+            Integer.parseInt(options.get("stock-per-product")),
+            Integer.parseInt(options.get("carts")),
+            Integer.parseInt(options.get("purchases")),
+            Integer.parseInt(options.get("purchase-days")),
+            Long.parseLong(options.get("seed"))
+        );
+        List<Scenario> mix = Scenario.parseMix(options.get("mix"));
+
+        // Seeding on the started event lets the ready listeners build the ranking, leaderboard and search index from the dataset
+        long seedingStart = System.nanoTime();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(EcommerceApiApplication.class)
+            .listeners(event -> {
+                if (event instanceof ApplicationStartedEvent started) {
+                    dataset.seed(started.getApplicationContext());
+                }
+            })
+            .run(properties.entrySet().stream().map(property -> "--" + property.getKey() + "=" + property.getValue()).toArray(String[]::new));
+
+        try {
+            System.out.printf("Application ready with %d clients and %d products in %d ms%n",
+                dataset.getUsers(), dataset.getProducts(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedingStart));
+
+            LoadTest test = new LoadTest(dataset, context.getEnvironment().getRequiredProperty("local.server.port", Integer.class));
+            Duration measured = test.run(mix, Integer.parseInt(options.get("concurrency")),
+                Duration.parse(options.get("warmup")), Duration.parse(options.get("duration")));
+            test.report(measured, Path.of(options.get("output")));
+        } finally {
+            context.close();
+        }
+    }
+
+    LoadTestDataset getDataset() {
+        return dataset;
+    }
+
+    String getAdminToken() {
+        return adminToken;
+    }
+
+    Duration run(List<Scenario> mix, int concurrency, Duration warmup, Duration duration) throws InterruptedException {
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        long measuredStart;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                long userId = dataset.clientId(i % dataset.getUsers());
+                VirtualUser user = new VirtualUser(userId,
+                    JwtUtils.createToken(userId, LoadTestDataset.clientEmail(userId), "CLIENT").getToken());
+                SplittableRandom random = new SplittableRandom(i);
+
+                executor.execute(() -> {
+                    while (System.nanoTime() < end) {
+                        mix.get(random.nextInt(mix.size())).run(this, user, random);
+                    }
+                });
+            }
+
+            TimeUnit.NANOSECONDS.sleep(warmupEnd - System.nanoTime());
+            endpoints.values().forEach(EndpointStats::reset);
+            measuredStart = System.nanoTime();
+        }
+
+        return Duration.ofNanos(System.nanoTime() - measuredStart);
+    }
+
+    void get(String endpoint, String path, String token) {
+        send(endpoint, request(path, token).GET().build());
+    }
+
+    void post(String endpoint, String path, String token, String body) {
+        HttpRequest.BodyPublisher publisher = body == null
+            ? HttpRequest.BodyPublishers.noBody()
+            : HttpRequest.BodyPublishers.ofString(body);
+        send(endpoint, request(path, token).header("Content-Type", "application/json").POST(publisher).build());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Authorization", "Bearer " + token);
+    }
+
+    private void send(String endpoint, HttpRequest request) {
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, name -> new EndpointStats());
+        long start = System.nanoTime();
+
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            stats.record(System.nanoTime() - start, response.statusCode());
+        } catch (IOException ex) {
+            stats.fail();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void report(Duration measured, Path output) throws IOException {
+        Files.createDirectories(output);
+        double seconds = measured.toNanos() / 1e9;
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+
+        System.out.printf("%nMeasured %.1f s, latencies in ms%n", seconds);
+        System.out.printf("%-40s %9s %7s %9s %8s %8s %8s %8s %8s  %s%n",
+            "Endpoint", "Requests", "Errors", "RPS", "p50", "p90", "p99", "p99.9", "max", "Statuses");
+
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(endpoints).entrySet()) {
+            EndpointStats stats = entry.getValue();
+            Histogram histogram = stats.latencies.getIntervalHistogram();
+            total.add(histogram);
+            totalErrors += stats.errors.sum();
+
+            printRow(entry.getKey(), histogram, stats.errors.sum(), seconds, stats.describeStatuses());
+
+            try (PrintStream out = new PrintStream(Files.newOutputStream(output.resolve(fileName(entry.getKey()))))) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+
+        printRow("Total", total, totalErrors, seconds, "");
+        System.out.printf("%nPercentile distributions written to %s%n", output.toAbsolutePath());
+    }
+
+    private static void printRow(String endpoint, Histogram histogram, long errors, double seconds, String statuses) {
+        System.out.printf("%-40s %9d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f  %s%n",
+            endpoint, histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+            millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+            millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+            millis(histogram.getMaxValue()), statuses);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String fileName(String endpoint) {
+        return endpoint.replaceAll("[^A-Za-z0-9]+", "-").replaceAll("-$", "").toLowerCase() + ".hgrm";
+    }
+
+    record VirtualUser(long id, String token) {
+    }
+
+    /**
+     * Latencies are recorded in microseconds. Failed connections count as errors but have
+     * no latency; non-2xx responses count as both, and their status codes are listed.
+     */
+    private static final class EndpointStats {
+
+        private final Recorder latencies = new Recorder(3);
+        private final LongAdder errors = new LongAdder();
+        private final ConcurrentMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        void record(long nanos, int status) {
+            latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+            statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+
+            if (status >= 400) {
+                errors.increment();
+            }
+        }
+
+        void fail() {
+            errors.increment();
+        }
+
+        void reset() {
+            latencies.reset();
+            errors.reset();
+            statuses.clear();
+        }
+
+        String describeStatuses() {
+            return new TreeMap<>(statuses).entrySet().stream()
+                .map(status -> status.getKey() + "x" + status.getValue().sum())
+                .collect(Collectors.joining(" "));
+        }
+    }
+}
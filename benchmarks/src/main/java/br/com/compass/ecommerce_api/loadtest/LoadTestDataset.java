@@ -0,0 +1,148 @@
+package br.com.compass.ecommerce_api.loadtest;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.compass.ecommerce_api.config.SpringIdGeneratorConfig;
+import br.com.compass.ecommerce_api.services.PurchaseRollupService;
+
+/**
+ * Generated dataset for the load test. Rows are written with plain JDBC batches and
+ * explicit ids, so seeding a large dataset takes seconds and the ids are known up front:
+ * the admin is user 1, clients are users 2 to {@code users + 1} and products are 1 to
+ * {@code products}, each with its own stock row.
+ *
+ * <p>Only portable SQL is used, so the same dataset can be written to MySQL. The random
+ * source is seeded, so two runs with the same options start from the same data.
+ */
+public class LoadTestDataset {
+
+    public static final long ADMIN_ID = 1;
+    public static final String ADMIN_EMAIL = "admin@loadtest.com";
+
+    // BCrypt hash of "123456", the same one the test fixtures use
+    private static final String PASSWORD = "$2a$10$DybF0RwnLnlGzmTajn1zWOuEKfsd6V00HQHT7wZMFsozIkL9zK4Ve";
+    private static final int BATCH_SIZE = 1000;
+
+    private final int users;
+    private final int products;
+    private final int stockPerProduct;
+    private final int carts;
+    private final int purchases;
+    private final int purchaseDays;
+    private final long seed;
+
+    public LoadTestDataset(int users, int products, int stockPerProduct, int carts, int purchases, int purchaseDays, long seed) {
+        if (users < 1 || products < 1) {
+            throw new IllegalArgumentException("The dataset needs at least one client and one product");
+        }
+
+        this.users = users;
+        this.products = products;
+        this.stockPerProduct = stockPerProduct;
+        this.carts = Math.min(carts, users);
+        this.purchases = purchases;
+        this.purchaseDays = purchaseDays;
+        this.seed = seed;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getProducts() {
+        return products;
+    }
+
+    public long clientId(int index) {
+        return ADMIN_ID + 1 + index;
+    }
+
+    public static String clientEmail(long id) {
+        return "client" + id + "@loadtest.com";
+    }
+
+    public void seed(ApplicationContext context) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        SplittableRandom random = new SplittableRandom(seed);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] {ADMIN_ID, "Load Test Admin", ADMIN_EMAIL, PASSWORD, "ADMIN", now});
+
+        for (int i = 0; i < users; i++) {
+            long id = clientId(i);
+            rows.add(new Object[] {id, "Client " + id, clientEmail(id), PASSWORD, "CLIENT", now});
+        }
+
+        insert(jdbcTemplate, "INSERT INTO users (id, name, email, password, role, creation_date) VALUES (?, ?, ?, ?, ?, ?)", rows);
+
+        BigDecimal[] amounts = new BigDecimal[products + 1];
+        rows = new ArrayList<>();
+
+        for (int id = 1; id <= products; id++) {
+            amounts[id] = BigDecimal.valueOf(random.nextInt(100, 100_000), 2);
+            rows.add(new Object[] {
+                id, "Product " + id, "Load test product number " + id, amounts[id], "ACTIVE", random.nextInt(0, 1000), now
+            });
+        }
+
+        insert(jdbcTemplate, "INSERT INTO products (id, name, description, amount, status, times_purchased, creation_date) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+
+        rows = new ArrayList<>();
+
+        for (int id = 1; id <= products; id++) {
+            rows.add(new Object[] {id, id, stockPerProduct, now});
+        }
+
+        insert(jdbcTemplate, "INSERT INTO stock (id, product_id, quantity, creation_date) VALUES (?, ?, ?, ?)", rows);
+
+        rows = new ArrayList<>();
+        long cartItemId = 1;
+
+        for (int i = 0; i < carts; i++) {
+            int items = Math.min(random.nextInt(1, 4), products);
+            int first = random.nextInt(1, products + 1);
+
+            for (int item = 0; item < items; item++) {
+                int productId = (first + item - 1) % products + 1;
+                rows.add(new Object[] {cartItemId++, clientId(i), productId, random.nextInt(1, 3), now});
+            }
+        }
+
+        insert(jdbcTemplate, "INSERT INTO cart_items (id, user_id, product_id, quantity, creation_date) VALUES (?, ?, ?, ?, ?)", rows);
+
+        rows = new ArrayList<>();
+        long windowSeconds = purchaseDays * 86_400L;
+
+        for (int id = 1; id <= purchases; id++) {
+            LocalDateTime purchaseDate = LocalDateTime.now().minusSeconds(random.nextLong(1, windowSeconds + 1));
+            BigDecimal totalAmount = amounts[random.nextInt(1, products + 1)].multiply(BigDecimal.valueOf(random.nextInt(1, 4)));
+            rows.add(new Object[] {id, clientId(random.nextInt(users)), totalAmount, Timestamp.valueOf(purchaseDate)});
+        }
+
+        insert(jdbcTemplate, "INSERT INTO purchases (id, user_id, total_amount, purchase_date) VALUES (?, ?, ?, ?)", rows);
+
+        context.getBean(SpringIdGeneratorConfig.class).alignIdGenerators();
+
+        // One run seals at most a week of hours, so repeat until the seeded window is covered
+        PurchaseRollupService purchaseRollupService = context.getBean(PurchaseRollupService.class);
+
+        for (int week = 0; week <= purchaseDays / 7; week++) {
+            purchaseRollupService.sealCompletedHours();
+        }
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.compass.ecommerce_api.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * One step of a virtual client, picked at random by weight on every iteration. A step sends
+ * one or two requests, and each request is recorded under its endpoint, so the checkout's
+ * add-to-cart shows up together with the plain cart step.
+ */
+enum Scenario {
+
+    BROWSE("browse") {
+        @Override
+        void run(LoadTest test, LoadTest.VirtualUser user, SplittableRandom random) {
+            int pages = Math.max(1, test.getDataset().getProducts() / PAGE_SIZE);
+            test.get("GET /products", "/api/v1/products?size=" + PAGE_SIZE + "&page=" + random.nextInt(pages), test.getAdminToken());
+        }
+    },
+    PRODUCT("product") {
+        @Override
+        void run(LoadTest test, LoadTest.VirtualUser user, SplittableRandom random) {
+            test.get("GET /products/{id}", "/api/v1/products/" + randomProduct(test, random), user.token());
+        }
+    },
+    SEARCH("search") {
+        @Override
+        void run(LoadTest test, LoadTest.VirtualUser user, SplittableRandom random) {
+            test.get("GET /products/search", "/api/v1/products/search?q=product+" + randomProduct(test, random), user.token());
+        }
+    },
+    CART("cart") {
+        @Override
+        void run(LoadTest test, LoadTest.VirtualUser user, SplittableRandom random) {
+            addToCart(test, user, random);
+        }
+    },
+    CHECKOUT("checkout") {
+        @Override
+        void run(LoadTest test, LoadTest.VirtualUser user, SplittableRandom random) {
+            addToCart(test, user, random);
+            test.post("POST /purchases/perform-purchase/{id}", "/api/v1/purchases/perform-purchase/" + user.id(), user.token(), null);
+        }
+    },
+    REPORTS("reports") {
+        @Override
+        void run(LoadTest test, LoadTest.VirtualUser user, SplittableRandom random) {
+            switch (random.nextInt(4)) {
+                case 0 -> test.get("GET /purchases/total-amount", "/api/v1/purchases/total-amount?period=month", test.getAdminToken());
+                case 1 -> test.get("GET /purchases/total-purchases", "/api/v1/purchases/total-purchases?period=week", test.getAdminToken());
+                case 2 -> test.get("GET /purchases/top-buyers", "/api/v1/purchases/top-buyers?size=10", test.getAdminToken());
+                default -> test.get("GET /products/best-selling", "/api/v1/products/best-selling?size=10", test.getAdminToken());
+            }
+        }
+    };
+
+    static final String DEFAULT_MIX = "browse:25,product:20,search:10,cart:20,checkout:15,reports:10";
+
+    private static final int PAGE_SIZE = 12;
+
+    private final String name;
+
+    Scenario(String name) {
+        this.name = name;
+    }
+
+    abstract void run(LoadTest test, LoadTest.VirtualUser user, SplittableRandom random);
+
+    /**
+     * Expands a mix such as {@code browse:60,cart:25,checkout:10,reports:5} into a list with
+     * one entry per unit of weight, so picking a uniformly random entry honours the weights.
+     */
+    static List<Scenario> parseMix(String mix) {
+        Map<String, Scenario> byName = new LinkedHashMap<>();
+
+        for (Scenario scenario : values()) {
+            byName.put(scenario.name, scenario);
+        }
+
+        List<Scenario> wheel = new ArrayList<>();
+
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Scenario scenario = byName.get(parts[0]);
+
+            if (scenario == null || parts.length != 2) {
+                throw new IllegalArgumentException(String.format("Invalid mix entry {%s}. Use name:weight with one of %s", entry, byName.keySet()));
+            }
+
+            for (int i = Integer.parseInt(parts[1]); i > 0; i--) {
+                wheel.add(scenario);
+            }
+        }
+
+        if (wheel.isEmpty()) {
+            throw new IllegalArgumentException("The mix needs at least one scenario with a positive weight");
+        }
+
+        return wheel;
+    }
+
+    private static void addToCart(LoadTest test, LoadTest.VirtualUser user, SplittableRandom random) {
+        String body = String.format("{\"userId\":%d,\"productId\":%d,\"quantity\":1}", user.id(), randomProduct(test, random));
+        test.post("POST /cart", "/api/v1/cart", user.token(), body);
+    }
+
+    private static int randomProduct(LoadTest test, SplittableRandom random) {
+        return random.nextInt(1, test.getDataset().getProducts() + 1);
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.compass.ecommerce_api.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.hibernate.engine.jdbc.connections.internal.DatasourceConnectionProviderImpl;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Serves Hibernate from the application pool, except for the connection the table id
+ * generator opens to fetch the next pooled-lo block, which comes from a small reserved pool
+ * instead. That fetch runs while the optimizer lock is held, and every other thread inserting
+ * into the same table waits on that lock with a connection of its own. With a single pool,
+ * once every connection belongs to such a thread, the fetch never gets one and all inserts
+ * stall until the pool times out. Nothing on the reserved pool waits on the optimizer lock,
+ * so it always drains.
+ */
+class ReservedConnectionProvider extends DatasourceConnectionProviderImpl {
+
+    private static final ThreadLocal<Boolean> FETCHING_ID_BLOCK = new ThreadLocal<>();
+
+    private final HikariDataSource reserved;
+
+    ReservedConnectionProvider(DataSource dataSource, HikariDataSource reserved) {
+        setDataSource(dataSource);
+        this.reserved = reserved;
+    }
+
+    static <T> T fetchIdBlock(Supplier<T> fetch) {
+        FETCHING_ID_BLOCK.set(Boolean.TRUE);
+
+        try {
+            return fetch.get();
+        } finally {
+            FETCHING_ID_BLOCK.remove();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return FETCHING_ID_BLOCK.get() != null ? reserved.getConnection() : super.getConnection();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        reserved.close();
+    }
+}
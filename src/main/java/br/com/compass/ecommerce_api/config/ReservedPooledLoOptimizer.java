@@ -0,0 +1,35 @@
+package br.com.compass.ecommerce_api.config;
+
+import java.io.Serializable;
+
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+
+/**
+ * The pooled-lo optimizer, with the fetch of each next block served from the reserved pool of
+ * {@link ReservedConnectionProvider}. Hibernate instantiates it by name, so it must stay public
+ * with this constructor.
+ */
+public class ReservedPooledLoOptimizer extends PooledLoOptimizer {
+
+    public ReservedPooledLoOptimizer(Class<?> returnClass, int incrementSize) {
+        super(returnClass, incrementSize);
+    }
+
+    @Override
+    public Serializable generate(AccessCallback callback) {
+        return super.generate(new AccessCallback() {
+
+            @Override
+            public IntegralDataTypeHolder getNextValue() {
+                return ReservedConnectionProvider.fetchIdBlock(callback::getNextValue);
+            }
+
+            @Override
+            public String getTenantIdentifier() {
+                return callback.getTenantIdentifier();
+            }
+        });
+    }
+}
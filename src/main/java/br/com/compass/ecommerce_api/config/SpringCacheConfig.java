@@ -0,0 +1,14 @@
+package br.com.compass.ecommerce_api.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@EnableCaching
+@Configuration
+public class SpringCacheConfig {
+
+    public static final String USER_DETAILS_CACHE = "userDetails";
+    public static final String USER_ROLES_CACHE = "userRoles";
+    public static final String PRODUCTS_CACHE = "products";
+    public static final String PRODUCT_PAGES_CACHE = "productPages";
+}
@@ -0,0 +1,35 @@
+package br.com.compass.ecommerce_api.config;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+@Configuration
+public class SpringDataSourceConfig {
+
+    /**
+     * The reserved pool connects lazily, so it opens no connection until the first id block
+     * is fetched. Only {@link ReservedPooledLoOptimizer} routes work to it.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer reservedConnectionCustomizer(DataSource dataSource,
+            DataSourceProperties dataSourceProperties,
+            @Value("${ecommerce.datasource.reserved-pool-size:2}") int reservedPoolSize) {
+        HikariDataSource reserved = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        reserved.setPoolName("HikariPool-reserved");
+        reserved.setMaximumPoolSize(reservedPoolSize);
+        reserved.setMinimumIdle(0);
+
+        return properties -> {
+            properties.put(AvailableSettings.CONNECTION_PROVIDER, new ReservedConnectionProvider(dataSource, reserved));
+            properties.put(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, ReservedPooledLoOptimizer.class.getName());
+        };
+    }
+}
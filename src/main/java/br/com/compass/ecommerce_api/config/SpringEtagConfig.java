@@ -0,0 +1,33 @@
+package br.com.compass.ecommerce_api.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+@Configuration
+public class SpringEtagConfig {
+
+    /**
+     * Strong ETags for product reads. A request whose If-None-Match matches the current body
+     * gets a 304 with no payload. Writes skip the filter, so their responses are not buffered.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> productEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new ReadOnlyEtagHeaderFilter());
+        registration.addUrlPatterns("/api/v1/products", "/api/v1/products/*");
+        registration.setName("productEtagFilter");
+        return registration;
+    }
+
+    private static final class ReadOnlyEtagHeaderFilter extends ShallowEtagHeaderFilter {
+
+        @Override
+        protected boolean shouldNotFilter(HttpServletRequest request) {
+            return !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.compass.ecommerce_api.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Entity ids come from pooled-lo blocks in the id_generators table instead of
+ * AUTO_INCREMENT, so Hibernate can batch inserts. Before the first block is handed out,
+ * each table's row is raised past the largest id already stored, which keeps databases
+ * created under the old IDENTITY mapping working.
+ */
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Configuration
+public class SpringIdGeneratorConfig {
+
+    private static final List<String> TABLES = List.of(
+        "users", "password_tokens", "products", "stock", "cart_items", "purchases", "purchase_rollups", "email_outbox", "refresh_tokens", "revoked_tokens"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignIdGenerators() {
+        for (String table : TABLES) {
+            long next = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class);
+
+            int updated = jdbcTemplate.update(
+                "UPDATE id_generators SET next_val = ? WHERE sequence_name = ? AND next_val < ?", next, table, next
+            );
+
+            if (updated == 0) {
+                Integer rows = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM id_generators WHERE sequence_name = ?", Integer.class, table
+                );
+
+                if (rows == 0) {
+                    jdbcTemplate.update("INSERT INTO id_generators (sequence_name, next_val) VALUES (?, ?)", table, next);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.compass.ecommerce_api.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class SpringMetricsConfig {
+
+    public static final String SERVICE_TIMER = "ecommerce.service";
+    public static final String JWT_VERIFICATION_TIMER = "ecommerce.jwt.verification";
+    public static final String PASSWORD_HASHING_TIMER = "ecommerce.password.hashing";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
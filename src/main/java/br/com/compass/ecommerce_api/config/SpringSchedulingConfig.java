@@ -0,0 +1,9 @@
+package br.com.compass.ecommerce_api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@EnableScheduling
+@Configuration
+public class SpringSchedulingConfig {
+}
@@ -0,0 +1,38 @@
+package br.com.compass.ecommerce_api.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import br.com.compass.ecommerce_api.monitoring.SqlStatementCountFilter;
+import br.com.compass.ecommerce_api.monitoring.SqlStatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class SpringSqlMonitoringConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    /**
+     * Runs ahead of Spring Security so statements issued while authenticating the request
+     * are counted too.
+     */
+    @Bean
+    public FilterRegistrationBean<SqlStatementCountFilter> sqlStatementCountFilter(MeterRegistry meterRegistry,
+            @Value("${ecommerce.sql.statement-threshold:20}") int statementThreshold,
+            @Value("${ecommerce.sql.repeated-statement-threshold:5}") int repeatedStatementThreshold) {
+        FilterRegistrationBean<SqlStatementCountFilter> registration = new FilterRegistrationBean<>(
+            new SqlStatementCountFilter(meterRegistry, statementThreshold, repeatedStatementThreshold)
+        );
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.setName("sqlStatementCountFilter");
+        return registration;
+    }
+}
@@ -1,24 +1,35 @@
 package br.com.compass.ecommerce_api.controllers;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import br.com.compass.ecommerce_api.dtos.RefreshTokenDto;
 import br.com.compass.ecommerce_api.dtos.UserLoginDto;
 import br.com.compass.ecommerce_api.dtos.UserResponseDto;
 import br.com.compass.ecommerce_api.exceptions.ErrorMessage;
+import br.com.compass.ecommerce_api.jwt.JwtService;
 import br.com.compass.ecommerce_api.jwt.JwtToken;
+import br.com.compass.ecommerce_api.jwt.JwtUserDetails;
 import br.com.compass.ecommerce_api.jwt.JwtUserDetailsService;
+import br.com.compass.ecommerce_api.services.LoginThrottleService;
+import br.com.compass.ecommerce_api.services.RefreshTokenService;
+import br.com.compass.ecommerce_api.services.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -34,6 +45,10 @@ public class AuthenticationController {
 
     private final JwtUserDetailsService detailsService;
     private final AuthenticationManager authenticationManager;
+    private final LoginThrottleService loginThrottleService;
+    private final RefreshTokenService refreshTokenService;
+    private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
 
     @Operation(summary = "Authenticate in the API", description = "Send authentication request", 
         responses = {
@@ -42,28 +57,76 @@ public class AuthenticationController {
             @ApiResponse(responseCode = "400", description = "Invalid credentials",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
             @ApiResponse(responseCode = "422", description = "Invalid fields",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "429", description = "Too many failed attempts for this email or address, or too many logins in progress. Retry after the Retry-After header",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
         }
     )
     @PostMapping("/auth")
     public ResponseEntity<?> authenticate(@RequestBody @Valid UserLoginDto userLoginDto, HttpServletRequest request) {
         log.info("Authentication process by login {}", userLoginDto.getEmail());
+        loginThrottleService.checkAllowed(userLoginDto.getEmail(), request.getRemoteAddr());
 
         try {
             UsernamePasswordAuthenticationToken authenticationToken = 
                 new UsernamePasswordAuthenticationToken(userLoginDto.getEmail(), userLoginDto.getPassword());
 
-            authenticationManager.authenticate(authenticationToken);
+            Authentication authentication = authenticationManager.authenticate(authenticationToken);
 
-            JwtToken token = detailsService.getTokenAuthenticated(userLoginDto.getEmail());
+            JwtUserDetails userDetails = (JwtUserDetails) authentication.getPrincipal();
+            JwtToken token = detailsService.getTokenAuthenticated(userDetails);
+            token.setRefreshToken(refreshTokenService.issue(userDetails.getId(), userDetails.getUsername()));
+            loginThrottleService.recordSuccess(userLoginDto.getEmail());
 
             return ResponseEntity.ok(token);
         } catch (AuthenticationException ex) {
             log.warn("Bad credentials from Email {}", userLoginDto.getEmail());
+            loginThrottleService.recordFailure(userLoginDto.getEmail(), request.getRemoteAddr());
         }
 
         return ResponseEntity
             .badRequest()
             .body(new ErrorMessage(request, HttpStatus.BAD_REQUEST, "Invalid Credentials"));
     }
+
+    @Operation(summary = "Renew the bearer token", description = "Exchanges a refresh token for a new bearer token and a new refresh token. Each refresh token works once", 
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Successfully renewed the bearer token", 
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = JwtToken.class))),
+            @ApiResponse(responseCode = "400", description = "Refresh token unknown, expired or already used",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "422", description = "Invalid fields",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
+        }
+    )
+    @PostMapping("/auth/refresh")
+    public ResponseEntity<JwtToken> refresh(@RequestBody @Valid RefreshTokenDto refreshTokenDto) {
+        return ResponseEntity.ok(refreshTokenService.refresh(refreshTokenDto.getRefreshToken()));
+    }
+
+    @Operation(summary = "Log out", description = "Revokes the bearer token used in this request, and the refresh token when one is sent", 
+        security = @SecurityRequirement(name = "security"),
+        responses = {
+            @ApiResponse(responseCode = "204", description = "Successfully logged out"),
+            @ApiResponse(responseCode = "401", description = "Missing, invalid or already revoked bearer token",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "422", description = "Invalid fields",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
+        }
+    )
+    @PostMapping("/auth/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+            @RequestBody(required = false) @Valid RefreshTokenDto refreshTokenDto) {
+        Claims claims = jwtService.parseToken(authorization);
+
+        if (claims != null && claims.getId() != null) {
+            tokenRevocationService.revoke(claims.getId(), claims.getExpiration());
+        }
+
+        if (refreshTokenDto != null) {
+            refreshTokenService.revoke(refreshTokenDto.getRefreshToken());
+        }
+
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,6 +1,7 @@
 package br.com.compass.ecommerce_api.controllers;
 
-import org.springframework.data.domain.Page;
+import java.util.List;
+
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
@@ -10,13 +11,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.com.compass.ecommerce_api.dtos.CartItemSaveDto;
-import br.com.compass.ecommerce_api.dtos.PageableDto;
+import br.com.compass.ecommerce_api.dtos.CursorPageDto;
+import br.com.compass.ecommerce_api.dtos.SliceDto;
 import br.com.compass.ecommerce_api.dtos.mappers.CartItemMapper;
+import br.com.compass.ecommerce_api.dtos.mappers.CursorPageMapper;
 import br.com.compass.ecommerce_api.dtos.mappers.PageableMapper;
 import br.com.compass.ecommerce_api.entities.CartItem;
+import br.com.compass.ecommerce_api.enums.PageCount;
 import br.com.compass.ecommerce_api.exceptions.ErrorMessage;
 import br.com.compass.ecommerce_api.projections.CartItemProjection;
 import br.com.compass.ecommerce_api.services.CartItemService;
@@ -46,7 +51,7 @@ public class CartItemController {
             @ApiResponse(responseCode = "204", description = "Product added successfully"), 
             @ApiResponse(responseCode = "404", description = "Resource not found",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
-            @ApiResponse(responseCode = "409", description = "Inactive product cannot be added to cart",
+            @ApiResponse(responseCode = "409", description = "Product is inactive or doesn't have enough stock",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
             @ApiResponse(responseCode = "422", description = "Invalid input data",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
@@ -71,6 +76,10 @@ public class CartItemController {
                 content = @Content(schema = @Schema(type = "integer", defaultValue = "3")),
                 description = "Reperesents the amount of elements in a page"
             ),
+            @Parameter(in = ParameterIn.QUERY, name = "count",
+                content = @Content(schema = @Schema(type = "string", allowableValues = {"true", "false", "approximate"}, defaultValue = "true")),
+                description = "Whether totals are counted (true) or skipped (false). Approximate counts exactly on this filtered listing"
+            ),
             @Parameter(in = ParameterIn.QUERY, name = "sort", hidden = true,
                 array = @ArraySchema(schema = @Schema(type = "string", defaultValue = "id,asc")),
                 description = "Represents the sorting type being used. Accepts multiple criteria"
@@ -81,14 +90,52 @@ public class CartItemController {
                 content = @Content(mediaType = "application/json", 
                 array = @ArraySchema(schema = @Schema(implementation = CartItemProjection.class)))
             ),
+            @ApiResponse(responseCode = "400", description = "Invalid count",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
             @ApiResponse(responseCode = "403", description = "User doesn't have permission to access resource",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
         }
     )
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ADMIN', 'CLIENT') AND #id == authentication.principal.id")
-    public ResponseEntity<PageableDto<CartItemProjection>> findAll(@PathVariable Long id, @PageableDefault(size = 3) Pageable pageable) {
-        Page<CartItemProjection> cart = cartItemService.getCart(id, pageable);
-        return ResponseEntity.ok(PageableMapper.toDto(cart));
+    public ResponseEntity<SliceDto<CartItemProjection>> findAll(@PathVariable Long id, @PageableDefault(size = 3) Pageable pageable,
+            @RequestParam(defaultValue = "true") String count) {
+        SliceDto<CartItemProjection> cart = switch (PageCount.fromParam(count)) {
+            case EXACT, APPROXIMATE -> PageableMapper.toDto(cartItemService.getCart(id, pageable));
+            case NONE -> PageableMapper.toSliceDto(cartItemService.getCartSliced(id, pageable));
+        };
+        return ResponseEntity.ok(cart);
+    }
+
+    @Operation(summary = "Scrolls through cart", description = "Requires Bearer Token. Access restricted to own cart. Keyset pagination ordered by id, without a total count", 
+        security = @SecurityRequirement(name = "security"),
+        parameters = {
+            @Parameter(in = ParameterIn.QUERY, name = "after",
+                content = @Content(schema = @Schema(type = "string")),
+                description = "Opaque cursor returned as nextCursor by the previous page. Omit it for the first page"
+            ),
+            @Parameter(in = ParameterIn.QUERY, name = "size",
+                content = @Content(schema = @Schema(type = "integer", defaultValue = "3")),
+                description = "Reperesents the amount of elements in a page, up to 100"
+            )
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Resource retrieved successfully", 
+                content = @Content(mediaType = "application/json", 
+                array = @ArraySchema(schema = @Schema(implementation = CartItemProjection.class)))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "403", description = "User doesn't have permission to access resource",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
+        }
+    )
+    @GetMapping("/{id}/scroll")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'CLIENT') AND #id == authentication.principal.id")
+    public ResponseEntity<CursorPageDto<CartItemProjection>> scroll(@PathVariable Long id,
+            @RequestParam(required = false) String after, @RequestParam(defaultValue = "3") int size) {
+        int limit = CursorPageMapper.toLimit(size);
+        List<CartItemProjection> cart = cartItemService.getCartAfter(id, CursorPageMapper.toId(after), limit);
+        return ResponseEntity.ok(CursorPageMapper.toDto(cart, limit, item -> CursorPageMapper.toCursor(item.getId())));
     }
 }
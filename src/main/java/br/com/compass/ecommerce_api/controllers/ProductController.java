@@ -1,9 +1,16 @@
 package br.com.compass.ecommerce_api.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,20 +19,29 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import br.com.compass.ecommerce_api.dtos.CursorPageDto;
 import br.com.compass.ecommerce_api.dtos.PageableDto;
+import br.com.compass.ecommerce_api.dtos.SliceDto;
 import br.com.compass.ecommerce_api.dtos.ProductAmountUpdateDto;
 import br.com.compass.ecommerce_api.dtos.ProductDescriptionUpdateDto;
+import br.com.compass.ecommerce_api.dtos.ProductImportReportDto;
 import br.com.compass.ecommerce_api.dtos.ProductNameUpdateDto;
 import br.com.compass.ecommerce_api.dtos.ProductResponseDto;
 import br.com.compass.ecommerce_api.dtos.ProductSaveDto;
+import br.com.compass.ecommerce_api.dtos.mappers.CursorPageMapper;
 import br.com.compass.ecommerce_api.dtos.mappers.PageableMapper;
 import br.com.compass.ecommerce_api.dtos.mappers.ProductMapper;
 import br.com.compass.ecommerce_api.entities.Product;
+import br.com.compass.ecommerce_api.enums.PageCount;
+import br.com.compass.ecommerce_api.enums.ProductStatus;
 import br.com.compass.ecommerce_api.exceptions.ErrorMessage;
 import br.com.compass.ecommerce_api.projections.ProductProjection;
+import br.com.compass.ecommerce_api.services.ProductImportService;
 import br.com.compass.ecommerce_api.services.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -45,7 +61,10 @@ import lombok.RequiredArgsConstructor;
 @RequestMapping("/api/v1/products")
 public class ProductController {
 
+    private static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
     private final ProductService productService;
+    private final ProductImportService productImportService;
 
     @Operation(summary = "Creates a new product", description = "Requires Bearer Token. Access restricted to ADMIN", 
         security = @SecurityRequirement(name = "security"),
@@ -67,6 +86,28 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(ProductMapper.toDto(product));
     }
 
+    @Operation(summary = "Imports products and their initial stock in bulk", description = "Requires Bearer Token. Access restricted to ADMIN. "
+            + "Accepts NDJSON or CSV with a header row, one product per row with name, description, amount and an optional stock quantity. "
+            + "Valid rows are imported even when others fail",
+        security = @SecurityRequirement(name = "security"),
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Import finished, failed rows are listed in the report", 
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductImportReportDto.class))),
+            @ApiResponse(responseCode = "403", description = "User doesn't have permission to access resource",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "415", description = "Body is neither NDJSON nor CSV")
+        }
+    )
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<ProductImportReportDto> importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        ProductImportReportDto report = TEXT_CSV.isCompatibleWith(contentType)
+            ? productImportService.importCsv(body)
+            : productImportService.importNdjson(body);
+        return ResponseEntity.ok(report);
+    }
+
     @Operation(summary = "Retrieves a product by its id", description = "Requires Bearer Token", 
         security = @SecurityRequirement(name = "security"),
         responses = {
@@ -79,8 +120,7 @@ public class ProductController {
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ADMIN', 'CLIENT')")
     public ResponseEntity<ProductResponseDto> findById(@PathVariable Long id) {
-        Product product = productService.findById(id);
-        return ResponseEntity.ok(ProductMapper.toDto(product));
+        return ResponseEntity.ok(productService.findResponseById(id));
     }
 
     @Operation(summary = "Deletes a product by its id", description = "Requires Bearer Token. Access restricted to ADMIN", 
@@ -217,6 +257,10 @@ public class ProductController {
                 content = @Content(schema = @Schema(type = "integer", defaultValue = "3")),
                 description = "Reperesents the amount of elements in a page"
             ),
+            @Parameter(in = ParameterIn.QUERY, name = "count",
+                content = @Content(schema = @Schema(type = "string", allowableValues = {"true", "false", "approximate"}, defaultValue = "true")),
+                description = "Whether totals are counted exactly (true), skipped (false) or estimated from table statistics (approximate)"
+            ),
             @Parameter(in = ParameterIn.QUERY, name = "sort", hidden = true,
                 array = @ArraySchema(schema = @Schema(type = "string", defaultValue = "id,asc")),
                 description = "Represents the sorting type being used. Accepts multiple criteria"
@@ -227,14 +271,104 @@ public class ProductController {
                 content = @Content(mediaType = "application/json", 
                 array = @ArraySchema(schema = @Schema(implementation = ProductProjection.class)))
             ),
+            @ApiResponse(responseCode = "400", description = "Invalid count",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
             @ApiResponse(responseCode = "403", description = "User doesn't have permission to access resource",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
         }
     )
     @GetMapping
     @PreAuthorize("hasAuthority('ADMIN')")
-    public ResponseEntity<PageableDto<ProductProjection>> findAll(@PageableDefault(size = 3) Pageable pageable) {
-        Page<ProductProjection> products = productService.findAll(pageable);
+    public ResponseEntity<SliceDto<ProductProjection>> findAll(@PageableDefault(size = 3) Pageable pageable,
+            @RequestParam(defaultValue = "true") String count) {
+        SliceDto<ProductProjection> products = switch (PageCount.fromParam(count)) {
+            case EXACT -> PageableMapper.toDto(productService.findAll(pageable));
+            case NONE -> PageableMapper.toSliceDto(productService.findAllSliced(pageable));
+            case APPROXIMATE -> PageableMapper.toDto(productService.findAllSliced(pageable), productService.estimateCount());
+        };
+        return ResponseEntity.ok(products);
+    }
+
+    @Operation(summary = "Searches products by name and description", description = "Requires Bearer Token. Matches word prefixes and tolerates small typos", 
+        security = @SecurityRequirement(name = "security"),
+        parameters = {
+            @Parameter(in = ParameterIn.QUERY, name = "q",
+                content = @Content(schema = @Schema(type = "string")),
+                description = "Search text. Omit it to list every product matching the filters"
+            ),
+            @Parameter(in = ParameterIn.QUERY, name = "status",
+                content = @Content(schema = @Schema(implementation = ProductStatus.class)),
+                description = "Restricts results to products with this status"
+            ),
+            @Parameter(in = ParameterIn.QUERY, name = "minAmount",
+                content = @Content(schema = @Schema(type = "number")),
+                description = "Lowest accepted price"
+            ),
+            @Parameter(in = ParameterIn.QUERY, name = "maxAmount",
+                content = @Content(schema = @Schema(type = "number")),
+                description = "Highest accepted price"
+            ),
+            @Parameter(in = ParameterIn.QUERY, name = "sortBy",
+                content = @Content(schema = @Schema(type = "string", allowableValues = {"relevance", "timesPurchased"}, defaultValue = "relevance")),
+                description = "Orders results by relevance or by times purchased"
+            ),
+            @Parameter(in = ParameterIn.QUERY, name = "page",
+                content = @Content(schema = @Schema(type = "integer", defaultValue = "0")),
+                description = "Represents a returned page"
+            ),
+            @Parameter(in = ParameterIn.QUERY, name = "size",
+                content = @Content(schema = @Schema(type = "integer", defaultValue = "3")),
+                description = "Reperesents the amount of elements in a page"
+            )
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Resource retrieved successfully", 
+                content = @Content(mediaType = "application/json", 
+                array = @ArraySchema(schema = @Schema(implementation = ProductProjection.class)))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid sorting or price range",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
+        }
+    )
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'CLIENT')")
+    public ResponseEntity<PageableDto<ProductProjection>> search(@RequestParam(required = false) String q,
+            @RequestParam(required = false) ProductStatus status, @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount, @RequestParam(defaultValue = "relevance") String sortBy,
+            @PageableDefault(size = 3) Pageable pageable) {
+        Page<ProductProjection> products = productService.search(q, status, minAmount, maxAmount, sortBy, pageable);
         return ResponseEntity.ok(PageableMapper.toDto(products));
     }
+
+    @Operation(summary = "Scrolls through all products", description = "Requires Bearer Token. Access restricted to ADMIN. Keyset pagination ordered by id, without a total count", 
+        security = @SecurityRequirement(name = "security"),
+        parameters = {
+            @Parameter(in = ParameterIn.QUERY, name = "after",
+                content = @Content(schema = @Schema(type = "string")),
+                description = "Opaque cursor returned as nextCursor by the previous page. Omit it for the first page"
+            ),
+            @Parameter(in = ParameterIn.QUERY, name = "size",
+                content = @Content(schema = @Schema(type = "integer", defaultValue = "3")),
+                description = "Reperesents the amount of elements in a page, up to 100"
+            )
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Resource retrieved successfully", 
+                content = @Content(mediaType = "application/json", 
+                array = @ArraySchema(schema = @Schema(implementation = ProductProjection.class)))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "403", description = "User doesn't have permission to access resource",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
+        }
+    )
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<CursorPageDto<ProductProjection>> scroll(@RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "3") int size) {
+        int limit = CursorPageMapper.toLimit(size);
+        List<ProductProjection> products = productService.findAllAfter(CursorPageMapper.toId(after), limit);
+        return ResponseEntity.ok(CursorPageMapper.toDto(products, limit, product -> CursorPageMapper.toCursor(product.getId())));
+    }
 }
@@ -1,6 +1,7 @@
 package br.com.compass.ecommerce_api.controllers;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,9 +15,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import br.com.compass.ecommerce_api.dtos.CursorPageDto;
 import br.com.compass.ecommerce_api.dtos.PageableDto;
 import br.com.compass.ecommerce_api.dtos.TotalAmountReportDto;
 import br.com.compass.ecommerce_api.dtos.TotalPurchasesReportDto;
+import br.com.compass.ecommerce_api.dtos.mappers.CursorPageMapper;
 import br.com.compass.ecommerce_api.dtos.mappers.PageableMapper;
 import br.com.compass.ecommerce_api.dtos.mappers.ReportsMapper;
 import br.com.compass.ecommerce_api.exceptions.ErrorMessage;
@@ -133,4 +136,42 @@ public class PurchaseController {
         Page<TopBuyerProjection> topBuyers = purchaseService.findTopBuyers(pageable);
         return ResponseEntity.ok(PageableMapper.toDto(topBuyers));
     }
+
+    @Operation(summary = "Scrolls through top buyers", description = "Requires Bearer Token. Access restricted to ADMIN. Keyset pagination ordered by purchase count, without a total count", 
+        security = @SecurityRequirement(name = "security"),
+        parameters = {
+            @Parameter(in = ParameterIn.QUERY, name = "after",
+                content = @Content(schema = @Schema(type = "string")),
+                description = "Opaque cursor returned as nextCursor by the previous page. Omit it for the first page"
+            ),
+            @Parameter(in = ParameterIn.QUERY, name = "size",
+                content = @Content(schema = @Schema(type = "integer", defaultValue = "3")),
+                description = "Reperesents the amount of elements in a page, up to 100"
+            )
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Resource retrieved successfully", 
+                content = @Content(mediaType = "application/json", 
+                array = @ArraySchema(schema = @Schema(implementation = TopBuyerProjection.class)))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "403", description = "User doesn't have permission to access resource",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
+        }
+    )
+    @GetMapping("/top-buyers/scroll")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<CursorPageDto<TopBuyerProjection>> scrollTopBuyers(@RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "3") int size) {
+        int limit = CursorPageMapper.toLimit(size);
+        long[] keys = after == null ? null : CursorPageMapper.toKeys(after, 2);
+
+        List<TopBuyerProjection> topBuyers = keys == null
+            ? purchaseService.findTopBuyersAfter(null, null, limit)
+            : purchaseService.findTopBuyersAfter(keys[0], keys[1], limit);
+
+        return ResponseEntity.ok(CursorPageMapper.toDto(topBuyers, limit,
+            buyer -> CursorPageMapper.toCursor(buyer.getPurchaseCount(), buyer.getUserId())));
+    }
 }
@@ -1,6 +1,7 @@
 package br.com.compass.ecommerce_api.controllers;
 
-import org.springframework.data.domain.Page;
+import java.util.List;
+
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
@@ -12,15 +13,19 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import br.com.compass.ecommerce_api.dtos.PageableDto;
+import br.com.compass.ecommerce_api.dtos.CursorPageDto;
+import br.com.compass.ecommerce_api.dtos.SliceDto;
 import br.com.compass.ecommerce_api.dtos.StockAlterDto;
 import br.com.compass.ecommerce_api.dtos.StockResponseDto;
 import br.com.compass.ecommerce_api.dtos.StockSaveDto;
+import br.com.compass.ecommerce_api.dtos.mappers.CursorPageMapper;
 import br.com.compass.ecommerce_api.dtos.mappers.PageableMapper;
 import br.com.compass.ecommerce_api.dtos.mappers.StockMapper;
 import br.com.compass.ecommerce_api.entities.Stock;
+import br.com.compass.ecommerce_api.enums.PageCount;
 import br.com.compass.ecommerce_api.exceptions.ErrorMessage;
 import br.com.compass.ecommerce_api.projections.StockProjection;
 import br.com.compass.ecommerce_api.services.StockService;
@@ -135,6 +140,10 @@ public class StockController {
             @Parameter(in = ParameterIn.QUERY, name = "size",
                 content = @Content(schema = @Schema(type = "integer", defaultValue = "3")),
                 description = "Reperesents the amount of elements in a page"
+            ),
+            @Parameter(in = ParameterIn.QUERY, name = "count",
+                content = @Content(schema = @Schema(type = "string", allowableValues = {"true", "false", "approximate"}, defaultValue = "true")),
+                description = "Whether totals are counted (true) or skipped (false). Approximate counts exactly on this filtered listing"
             )
         },
         responses = {
@@ -142,14 +151,20 @@ public class StockController {
                 content = @Content(mediaType = "application/json", 
                 array = @ArraySchema(schema = @Schema(implementation = StockProjection.class)))
             ),
+            @ApiResponse(responseCode = "400", description = "Invalid count",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
             @ApiResponse(responseCode = "403", description = "User doesn't have permission to access resource",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
         }
     )
     @GetMapping("/low-stock")
-    public ResponseEntity<PageableDto<StockProjection>> findLowStock(@PageableDefault(size = 3) Pageable pageable) {
-        Page<StockProjection> lowStockItems = stockService.findLowStock(pageable);
-        return ResponseEntity.ok(PageableMapper.toDto(lowStockItems));
+    public ResponseEntity<SliceDto<StockProjection>> findLowStock(@PageableDefault(size = 3) Pageable pageable,
+            @RequestParam(defaultValue = "true") String count) {
+        SliceDto<StockProjection> lowStockItems = switch (PageCount.fromParam(count)) {
+            case EXACT, APPROXIMATE -> PageableMapper.toDto(stockService.findLowStock(pageable));
+            case NONE -> PageableMapper.toSliceDto(stockService.findLowStockSliced(pageable));
+        };
+        return ResponseEntity.ok(lowStockItems);
     }
 
     @Operation(summary = "Retrieves all stock entries", description = "Requires Bearer Token. Access restricted to ADMIN", 
@@ -163,6 +178,10 @@ public class StockController {
                 content = @Content(schema = @Schema(type = "integer", defaultValue = "3")),
                 description = "Reperesents the amount of elements in a page"
             ),
+            @Parameter(in = ParameterIn.QUERY, name = "count",
+                content = @Content(schema = @Schema(type = "string", allowableValues = {"true", "false", "approximate"}, defaultValue = "true")),
+                description = "Whether totals are counted exactly (true), skipped (false) or estimated from table statistics (approximate)"
+            ),
             @Parameter(in = ParameterIn.QUERY, name = "sort", hidden = true,
                 array = @ArraySchema(schema = @Schema(type = "string", defaultValue = "id,asc")),
                 description = "Represents the sorting type being used. Accepts multiple criteria"
@@ -173,13 +192,51 @@ public class StockController {
                 content = @Content(mediaType = "application/json", 
                 array = @ArraySchema(schema = @Schema(implementation = StockProjection.class)))
             ),
+            @ApiResponse(responseCode = "400", description = "Invalid count",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
             @ApiResponse(responseCode = "403", description = "User doesn't have permission to access resource",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
         }
     )
     @GetMapping
-    public ResponseEntity<PageableDto<StockProjection>> findAll(@PageableDefault(size = 3) Pageable pageable) {
-        Page<StockProjection> stocks = stockService.findAll(pageable);
-        return ResponseEntity.ok(PageableMapper.toDto(stocks));
+    public ResponseEntity<SliceDto<StockProjection>> findAll(@PageableDefault(size = 3) Pageable pageable,
+            @RequestParam(defaultValue = "true") String count) {
+        SliceDto<StockProjection> stocks = switch (PageCount.fromParam(count)) {
+            case EXACT -> PageableMapper.toDto(stockService.findAll(pageable));
+            case NONE -> PageableMapper.toSliceDto(stockService.findAllSliced(pageable));
+            case APPROXIMATE -> PageableMapper.toDto(stockService.findAllSliced(pageable), stockService.estimateCount());
+        };
+        return ResponseEntity.ok(stocks);
+    }
+
+    @Operation(summary = "Scrolls through all stock entries", description = "Requires Bearer Token. Access restricted to ADMIN. Keyset pagination ordered by id, without a total count", 
+        security = @SecurityRequirement(name = "security"),
+        parameters = {
+            @Parameter(in = ParameterIn.QUERY, name = "after",
+                content = @Content(schema = @Schema(type = "string")),
+                description = "Opaque cursor returned as nextCursor by the previous page. Omit it for the first page"
+            ),
+            @Parameter(in = ParameterIn.QUERY, name = "size",
+                content = @Content(schema = @Schema(type = "integer", defaultValue = "3")),
+                description = "Reperesents the amount of elements in a page, up to 100"
+            )
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Resource retrieved successfully", 
+                content = @Content(mediaType = "application/json", 
+                array = @ArraySchema(schema = @Schema(implementation = StockProjection.class)))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "403", description = "User doesn't have permission to access resource",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
+        }
+    )
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDto<StockProjection>> scroll(@RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "3") int size) {
+        int limit = CursorPageMapper.toLimit(size);
+        List<StockProjection> stocks = stockService.findAllAfter(CursorPageMapper.toId(after), limit);
+        return ResponseEntity.ok(CursorPageMapper.toDto(stocks, limit, stock -> CursorPageMapper.toCursor(stock.getId())));
     }
 }
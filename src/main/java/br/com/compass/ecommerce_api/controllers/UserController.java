@@ -1,6 +1,7 @@
 package br.com.compass.ecommerce_api.controllers;
 
-import org.springframework.data.domain.Page;
+import java.util.List;
+
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
@@ -15,14 +16,17 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import br.com.compass.ecommerce_api.dtos.PageableDto;
+import br.com.compass.ecommerce_api.dtos.CursorPageDto;
+import br.com.compass.ecommerce_api.dtos.SliceDto;
 import br.com.compass.ecommerce_api.dtos.PasswordResetDto;
 import br.com.compass.ecommerce_api.dtos.UserEmailDto;
 import br.com.compass.ecommerce_api.dtos.UserResponseDto;
 import br.com.compass.ecommerce_api.dtos.UserSaveDto;
+import br.com.compass.ecommerce_api.dtos.mappers.CursorPageMapper;
 import br.com.compass.ecommerce_api.dtos.mappers.PageableMapper;
 import br.com.compass.ecommerce_api.dtos.mappers.UserMapper;
 import br.com.compass.ecommerce_api.entities.User;
+import br.com.compass.ecommerce_api.enums.PageCount;
 import br.com.compass.ecommerce_api.enums.UserRole;
 import br.com.compass.ecommerce_api.exceptions.ErrorMessage;
 import br.com.compass.ecommerce_api.projections.UserProjection;
@@ -156,6 +160,10 @@ public class UserController {
                 content = @Content(schema = @Schema(type = "integer", defaultValue = "3")),
                 description = "Reperesents the amount of elements in a page"
             ),
+            @Parameter(in = ParameterIn.QUERY, name = "count",
+                content = @Content(schema = @Schema(type = "string", allowableValues = {"true", "false", "approximate"}, defaultValue = "true")),
+                description = "Whether totals are counted exactly (true), skipped (false) or estimated from table statistics (approximate)"
+            ),
             @Parameter(in = ParameterIn.QUERY, name = "sort", hidden = true,
                 array = @ArraySchema(schema = @Schema(type = "string", defaultValue = "id,asc")),
                 description = "Represents the sorting type being used. Accepts multiple criteria"
@@ -166,14 +174,53 @@ public class UserController {
                 content = @Content(mediaType = "application/json", 
                 array = @ArraySchema(schema = @Schema(implementation = UserProjection.class)))
             ),
+            @ApiResponse(responseCode = "400", description = "Invalid count",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
             @ApiResponse(responseCode = "403", description = "User doesn't have permission to access resource",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
         }
     )
     @GetMapping
     @PreAuthorize("hasAuthority('ADMIN')")
-    public ResponseEntity<PageableDto<UserProjection>> findAll(@PageableDefault(size = 3) Pageable pageable) {
-        Page<UserProjection> users = userService.findAll(pageable);
-        return ResponseEntity.ok(PageableMapper.toDto(users));
+    public ResponseEntity<SliceDto<UserProjection>> findAll(@PageableDefault(size = 3) Pageable pageable,
+            @RequestParam(defaultValue = "true") String count) {
+        SliceDto<UserProjection> users = switch (PageCount.fromParam(count)) {
+            case EXACT -> PageableMapper.toDto(userService.findAll(pageable));
+            case NONE -> PageableMapper.toSliceDto(userService.findAllSliced(pageable));
+            case APPROXIMATE -> PageableMapper.toDto(userService.findAllSliced(pageable), userService.estimateCount());
+        };
+        return ResponseEntity.ok(users);
+    }
+
+    @Operation(summary = "Scrolls through all users", description = "Requires Bearer Token. Access restricted to ADMIN. Keyset pagination ordered by id, without a total count", 
+        security = @SecurityRequirement(name = "security"),
+        parameters = {
+            @Parameter(in = ParameterIn.QUERY, name = "after",
+                content = @Content(schema = @Schema(type = "string")),
+                description = "Opaque cursor returned as nextCursor by the previous page. Omit it for the first page"
+            ),
+            @Parameter(in = ParameterIn.QUERY, name = "size",
+                content = @Content(schema = @Schema(type = "integer", defaultValue = "3")),
+                description = "Reperesents the amount of elements in a page, up to 100"
+            )
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Resource retrieved successfully", 
+                content = @Content(mediaType = "application/json", 
+                array = @ArraySchema(schema = @Schema(implementation = UserProjection.class)))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "403", description = "User doesn't have permission to access resource",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
+        }
+    )
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<CursorPageDto<UserProjection>> scroll(@RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "3") int size) {
+        int limit = CursorPageMapper.toLimit(size);
+        List<UserProjection> users = userService.findAllAfter(CursorPageMapper.toId(after), limit);
+        return ResponseEntity.ok(CursorPageMapper.toDto(users, limit, user -> CursorPageMapper.toCursor(user.getId())));
     }
 }
@@ -1,6 +1,7 @@
 package br.com.compass.ecommerce_api.dtos;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -21,5 +22,6 @@ public class CartItemSaveDto {
     private Long productId;
 
     @NotNull
+    @Positive(message = "Quantity must be greater than zero")
     private Integer quantity;
 }
@@ -0,0 +1,17 @@
+package br.com.compass.ecommerce_api.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class CursorPageDto<T> {
+
+    private List<T> content = new ArrayList<>();
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
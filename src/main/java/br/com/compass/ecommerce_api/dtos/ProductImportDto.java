@@ -0,0 +1,37 @@
+package br.com.compass.ecommerce_api.dtos;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class ProductImportDto {
+
+    @NotBlank
+    @Size(max = 100)
+    private String name;
+
+    @NotBlank
+    @Size(max = 400)
+    private String description;
+
+    @NotNull
+    @Positive(message = "Amount must be a positive number")
+    private BigDecimal amount;
+
+    @PositiveOrZero(message = "Quantity must not be negative")
+    private Integer quantity;
+}
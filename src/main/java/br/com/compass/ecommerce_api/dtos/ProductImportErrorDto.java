@@ -0,0 +1,19 @@
+package br.com.compass.ecommerce_api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class ProductImportErrorDto {
+
+    private long row;
+    private String name;
+    private String message;
+}
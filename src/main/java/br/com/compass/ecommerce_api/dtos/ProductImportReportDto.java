@@ -0,0 +1,18 @@
+package br.com.compass.ecommerce_api.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class ProductImportReportDto {
+
+    private long processed;
+    private long imported;
+    private long failed;
+    private boolean errorsTruncated;
+    private List<ProductImportErrorDto> errors = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+package br.com.compass.ecommerce_api.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class RefreshTokenDto {
+
+    @NotBlank
+    private String refreshToken;
+}
@@ -0,0 +1,73 @@
+package br.com.compass.ecommerce_api.dtos.mappers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import br.com.compass.ecommerce_api.dtos.CursorPageDto;
+import br.com.compass.ecommerce_api.exceptions.CursorInvalidException;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+public class CursorPageMapper {
+
+    public static final int MAX_SIZE = 100;
+
+    private static final String SEPARATOR = ":";
+
+    public static int toLimit(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    public static <T> CursorPageDto<T> toDto(List<T> rows, int size, Function<T, String> cursorOf) {
+        int limit = toLimit(size);
+        boolean hasNext = rows.size() > limit;
+        List<T> content = hasNext ? rows.subList(0, limit) : rows;
+
+        CursorPageDto<T> dto = new CursorPageDto<>();
+        dto.setContent(content);
+        dto.setSize(limit);
+        dto.setHasNext(hasNext);
+        dto.setNextCursor(hasNext ? cursorOf.apply(content.get(content.size() - 1)) : null);
+        return dto;
+    }
+
+    public static String toCursor(long... keys) {
+        StringBuilder cursor = new StringBuilder();
+
+        for (long key : keys) {
+            if (cursor.length() > 0) {
+                cursor.append(SEPARATOR);
+            }
+
+            cursor.append(key);
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static long[] toKeys(String cursor, int length) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR);
+
+            if (parts.length != length) {
+                throw new CursorInvalidException(String.format("Cursor {%s} is invalid", cursor));
+            }
+
+            long[] keys = new long[length];
+
+            for (int i = 0; i < length; i++) {
+                keys[i] = Long.parseLong(parts[i]);
+            }
+
+            return keys;
+        } catch (IllegalArgumentException ex) {
+            throw new CursorInvalidException(String.format("Cursor {%s} is invalid", cursor));
+        }
+    }
+
+    public static long toId(String cursor) {
+        return cursor == null ? 0L : toKeys(cursor, 1)[0];
+    }
+}
@@ -1,22 +1,49 @@
 package br.com.compass.ecommerce_api.dtos.mappers;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import br.com.compass.ecommerce_api.dtos.PageableDto;
+import br.com.compass.ecommerce_api.dtos.SliceDto;
 import lombok.NoArgsConstructor;
 
 @NoArgsConstructor
 public class PageableMapper {
 
     public static <T> PageableDto<T> toDto(Page<T> page) {
-        PageableDto<T> dto = new PageableDto<>();
-        dto.setContent(page.getContent());
-        dto.setFirst(page.isFirst());
-        dto.setLast(page.isLast());
-        dto.setNumber(page.getNumber());
-        dto.setSize(page.getSize());
+        PageableDto<T> dto = fill(new PageableDto<>(), page);
         dto.setTotalElements(page.getTotalElements());
         dto.setTotalPages(page.getTotalPages());
         return dto;
     }
+
+    public static <T> SliceDto<T> toSliceDto(Slice<T> slice) {
+        return fill(new SliceDto<>(), slice);
+    }
+
+    /**
+     * Builds a page whose totals come from a row estimate instead of a count query. The
+     * estimate is raised to at least what the slice proves exists, and replaced by the exact
+     * total once the slice reaches the end.
+     */
+    public static <T> PageableDto<T> toDto(Slice<T> slice, long estimatedTotal) {
+        PageableDto<T> dto = fill(new PageableDto<>(), slice);
+        long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements();
+        long total = slice.hasNext() ? Math.max(estimatedTotal, seen + 1) : seen;
+
+        dto.setTotalElements(total);
+        dto.setTotalPages(slice.getSize() == 0 ? 1 : (int) Math.ceil((double) total / slice.getSize()));
+        return dto;
+    }
+
+    private static <T, D extends SliceDto<T>> D fill(D dto, Slice<T> slice) {
+        dto.setContent(slice.getContent());
+        dto.setFirst(slice.isFirst());
+        dto.setLast(slice.isLast());
+        dto.setNumber(slice.getNumber());
+        dto.setSize(slice.getSize());
+        dto.setNumberOfElements(slice.getNumberOfElements());
+        dto.setHasNext(slice.hasNext());
+        return dto;
+    }
 }
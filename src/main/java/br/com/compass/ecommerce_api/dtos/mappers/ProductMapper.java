@@ -1,7 +1,5 @@
 package br.com.compass.ecommerce_api.dtos.mappers;
 
-import org.modelmapper.ModelMapper;
-
 import br.com.compass.ecommerce_api.dtos.ProductResponseDto;
 import br.com.compass.ecommerce_api.dtos.ProductSaveDto;
 import br.com.compass.ecommerce_api.entities.Product;
@@ -9,10 +7,21 @@ import br.com.compass.ecommerce_api.entities.Product;
 public class ProductMapper {
 
     public static Product toProduct(ProductSaveDto dto) {
-        return new ModelMapper().map(dto, Product.class);
+        Product product = new Product();
+        product.setName(dto.getName());
+        product.setDescription(dto.getDescription());
+        product.setAmount(dto.getAmount());
+        return product;
     }
 
     public static ProductResponseDto toDto(Product product) {
-        return new ModelMapper().map(product, ProductResponseDto.class);
+        return new ProductResponseDto(
+            product.getId(),
+            product.getName(),
+            product.getDescription(),
+            product.getStatus(),
+            product.getAmount(),
+            product.getTimesPurchased()
+        );
     }
 }
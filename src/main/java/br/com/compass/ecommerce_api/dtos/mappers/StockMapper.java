@@ -1,9 +1,8 @@
 package br.com.compass.ecommerce_api.dtos.mappers;
 
-import org.modelmapper.ModelMapper;
-
 import br.com.compass.ecommerce_api.dtos.StockResponseDto;
 import br.com.compass.ecommerce_api.dtos.StockSaveDto;
+import br.com.compass.ecommerce_api.entities.Product;
 import br.com.compass.ecommerce_api.entities.Stock;
 
 public class StockMapper {
@@ -15,6 +14,13 @@ public class StockMapper {
     }
 
     public static StockResponseDto tDto(Stock stock) {
-        return new ModelMapper().map(stock, StockResponseDto.class);
+        Product product = stock.getProduct();
+
+        return new StockResponseDto(
+            stock.getId(),
+            product != null ? product.getId() : null,
+            product != null ? product.getName() : null,
+            stock.getQuantity()
+        );
     }
 }
@@ -1,9 +1,7 @@
 package br.com.compass.ecommerce_api.dtos.mappers;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
-
-import org.modelmapper.ModelMapper;
 
 import br.com.compass.ecommerce_api.dtos.UserResponseDto;
 import br.com.compass.ecommerce_api.dtos.UserSaveDto;
@@ -12,14 +10,24 @@ import br.com.compass.ecommerce_api.entities.User;
 public class UserMapper {
 
     public static User toUser(UserSaveDto dto) {
-        return new ModelMapper().map(dto, User.class);
+        User user = new User();
+        user.setName(dto.getName());
+        user.setEmail(dto.getEmail());
+        user.setPassword(dto.getPassword());
+        return user;
     }
 
     public static UserResponseDto toDto(User user) {
-        return new ModelMapper().map(user, UserResponseDto.class);
+        return new UserResponseDto(user.getId(), user.getName(), user.getEmail(), user.getRole());
     }
     
     public static List<UserResponseDto> toListDto(List<User> users) {
-        return users.stream().map(user -> toDto(user)).collect(Collectors.toList());
+        List<UserResponseDto> dtos = new ArrayList<>(users.size());
+
+        for (User user : users) {
+            dtos.add(toDto(user));
+        }
+
+        return dtos;
     }
 }
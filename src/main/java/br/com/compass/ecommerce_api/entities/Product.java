@@ -17,7 +17,9 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -27,13 +29,14 @@ import lombok.Setter;
 @NoArgsConstructor
 @Getter
 @Setter
-@Table(name = "products")
+@Table(name = "products", indexes = @Index(name = "idx_products_times_purchased", columnList = "times_purchased"))
 @Entity
 @EntityListeners(AuditingEntityListener.class)
 public class Product implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "products_id")
+    @TableGenerator(name = "products_id", table = "id_generators", pkColumnValue = "products", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 100)
@@ -13,9 +13,11 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -26,12 +28,13 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "purchases")
+@Table(name = "purchases", indexes = @Index(name = "idx_purchases_purchase_date", columnList = "purchase_date"))
 @EntityListeners(AuditingEntityListener.class)
 public class Purchase implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "purchases_id")
+    @TableGenerator(name = "purchases_id", table = "id_generators", pkColumnValue = "purchases", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false)
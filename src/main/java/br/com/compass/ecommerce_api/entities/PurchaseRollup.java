@@ -0,0 +1,65 @@
+package br.com.compass.ecommerce_api.entities;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "purchase_rollups")
+public class PurchaseRollup implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "purchase_rollups_id")
+    @TableGenerator(name = "purchase_rollups_id", table = "id_generators", pkColumnValue = "purchase_rollups", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "bucket_start", nullable = false, unique = true)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "total_amount", nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(name = "purchase_count", nullable = false)
+    private Long purchaseCount;
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((id == null) ? 0 : id.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        PurchaseRollup other = (PurchaseRollup) obj;
+        if (id == null) {
+            if (other.id != null)
+                return false;
+        } else if (!id.equals(other.id))
+            return false;
+        return true;
+    }
+}
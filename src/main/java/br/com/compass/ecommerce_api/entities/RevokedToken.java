@@ -0,0 +1,40 @@
+package br.com.compass.ecommerce_api.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "idx_revoked_tokens_expiry_date", columnList = "expiry_date")
+})
+@Entity
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "revoked_tokens_id")
+    @TableGenerator(name = "revoked_tokens_id", table = "id_generators", pkColumnValue = "revoked_tokens", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "jti", nullable = false, unique = true, length = 36)
+    private String jti;
+
+    @Column(name = "expiry_date", nullable = false)
+    private LocalDateTime expiryDate;
+}
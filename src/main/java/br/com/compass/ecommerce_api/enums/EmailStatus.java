@@ -0,0 +1,8 @@
+package br.com.compass.ecommerce_api.enums;
+
+public enum EmailStatus {
+
+    PENDING,
+    SENT,
+    FAILED
+}
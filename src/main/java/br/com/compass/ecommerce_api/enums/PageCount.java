@@ -0,0 +1,23 @@
+package br.com.compass.ecommerce_api.enums;
+
+import br.com.compass.ecommerce_api.exceptions.PageCountInvalidException;
+
+public enum PageCount {
+
+    EXACT,
+    NONE,
+    APPROXIMATE;
+
+    public static PageCount fromParam(String count) {
+        switch (count) {
+            case "true":
+                return EXACT;
+            case "false":
+                return NONE;
+            case "approximate":
+                return APPROXIMATE;
+            default:
+                throw new PageCountInvalidException("Invalid count. Use 'true', 'false', or 'approximate'");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.compass.ecommerce_api.events;
+
+import java.util.Collection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class ProductChangedEvent {
+
+    private Collection<Long> productIds;
+    private Change change;
+
+    public ProductChangedEvent(Collection<Long> productIds) {
+        this(productIds, Change.UPDATED);
+    }
+
+    public enum Change {
+        CREATED, UPDATED, DELETED
+    }
+}
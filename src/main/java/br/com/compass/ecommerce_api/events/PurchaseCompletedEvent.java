@@ -0,0 +1,15 @@
+package br.com.compass.ecommerce_api.events;
+
+import java.util.List;
+
+import br.com.compass.ecommerce_api.projections.CheckoutItemProjection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class PurchaseCompletedEvent {
+
+    private Long userId;
+    private List<CheckoutItemProjection> items;
+}
@@ -0,0 +1,12 @@
+package br.com.compass.ecommerce_api.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class UserCredentialsChangedEvent {
+
+    private Long userId;
+    private String email;
+}
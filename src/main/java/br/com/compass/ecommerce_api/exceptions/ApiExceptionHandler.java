@@ -1,5 +1,6 @@
 package br.com.compass.ecommerce_api.exceptions;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -56,8 +57,9 @@ public class ApiExceptionHandler {
             .body(new ErrorMessage(request, HttpStatus.NOT_FOUND, ex.getMessage()));
     }
 
-    @ExceptionHandler({ PasswordInvalidException.class, ResetTokenInvalidException.class, 
-        PurchasePeriodInvalidException.class})
+    @ExceptionHandler({ PasswordInvalidException.class, ResetTokenInvalidException.class, RefreshTokenInvalidException.class,
+        PurchasePeriodInvalidException.class, CursorInvalidException.class,
+        PageCountInvalidException.class, ProductSearchInvalidException.class})
     public ResponseEntity<ErrorMessage> passwordInvalidException(RuntimeException ex,
         HttpServletRequest request) {
 
@@ -80,4 +82,17 @@ public class ApiExceptionHandler {
             .contentType(MediaType.APPLICATION_JSON)
             .body(new ErrorMessage(request, HttpStatus.FORBIDDEN, ex.getMessage()));
     }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorMessage> tooManyRequestsException(TooManyRequestsException ex,
+        HttpServletRequest request) {
+
+        log.warn("API Error - {}", ex.getMessage());
+
+        return ResponseEntity
+            .status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().plusMillis(999).toSeconds())))
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(new ErrorMessage(request, HttpStatus.TOO_MANY_REQUESTS, ex.getMessage()));
+    }
 }
@@ -0,0 +1,8 @@
+package br.com.compass.ecommerce_api.exceptions;
+
+public class CursorInvalidException extends RuntimeException {
+
+    public CursorInvalidException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.compass.ecommerce_api.exceptions;
+
+public class PageCountInvalidException extends RuntimeException {
+
+    public PageCountInvalidException(String message) {
+        super(message);
+    }
+}
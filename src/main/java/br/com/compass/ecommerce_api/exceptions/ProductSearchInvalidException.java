@@ -0,0 +1,8 @@
+package br.com.compass.ecommerce_api.exceptions;
+
+public class ProductSearchInvalidException extends RuntimeException {
+
+    public ProductSearchInvalidException(String message) {
+        super(message);
+    }
+}
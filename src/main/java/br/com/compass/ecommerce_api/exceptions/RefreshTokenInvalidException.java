@@ -0,0 +1,8 @@
+package br.com.compass.ecommerce_api.exceptions;
+
+public class RefreshTokenInvalidException extends RuntimeException {
+
+    public RefreshTokenInvalidException(String message) {
+        super(message);
+    }
+}
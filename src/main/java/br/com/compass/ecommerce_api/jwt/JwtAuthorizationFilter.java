@@ -3,12 +3,14 @@ package br.com.compass.ecommerce_api.jwt;
 import java.io.IOException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,6 +24,12 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUserDetailsService detailsService;
 
+    @Autowired
+    private JwtService jwtService;
+
+    @Value("${ecommerce.jwt.stateless-principal:true}")
+    private boolean statelessPrincipal;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -34,21 +42,21 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
             return;
         }
 
-        if (!JwtUtils.isTokenValid(token)) {
+        Claims claims = jwtService.parseToken(token);
+
+        if (claims == null) {
             log.info("JWT Token is invalid or expired");
             filterChain.doFilter(request, response);
             return;
         }
 
-        String username = JwtUtils.getUsernameFromToken(token);
-
-        toAuthentication(request, username);
+        toAuthentication(request, claims);
 
         filterChain.doFilter(request, response);
     }
 
-    private void toAuthentication(HttpServletRequest request, String email) {
-        UserDetails userDetails = detailsService.loadUserByUsername(email);
+    private void toAuthentication(HttpServletRequest request, Claims claims) {
+        UserDetails userDetails = toUserDetails(claims);
 
         UsernamePasswordAuthenticationToken authenticationToken = UsernamePasswordAuthenticationToken
             .authenticated(userDetails, null, userDetails.getAuthorities());
@@ -57,4 +65,15 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
         SecurityContextHolder.getContext().setAuthentication(authenticationToken);
     }
+
+    private UserDetails toUserDetails(Claims claims) {
+        Long id = claims.get(JwtUtils.JWT_ID_CLAIM, Long.class);
+        String role = claims.get(JwtUtils.JWT_ROLE_CLAIM, String.class);
+
+        if (statelessPrincipal && id != null && role != null) {
+            return new JwtUserDetails(id, claims.getSubject(), role);
+        }
+
+        return detailsService.loadPrincipalByUsername(claims.getSubject());
+    }
 }
@@ -0,0 +1,142 @@
+package br.com.compass.ecommerce_api.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import br.com.compass.ecommerce_api.config.SpringMetricsConfig;
+import br.com.compass.ecommerce_api.events.UserCredentialsChangedEvent;
+import br.com.compass.ecommerce_api.services.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Verifies bearer tokens with a key and parser built once at startup. Verified claims are
+ * cached by token hash until the token's expiration, so a client reusing the same token
+ * skips signature verification on subsequent requests.
+ *
+ * <p>When a user's credentials change, tokens issued to them before the change are rejected.
+ * The change instants are kept in memory for one token lifetime, after which every older
+ * token has expired on its own. Tokens revoked one by one, on logout, are checked against
+ * {@link TokenRevocationService}.
+ */
+@Slf4j
+@Service
+public class JwtService {
+
+    private static final Duration TOKEN_LIFETIME = Duration.ofDays(JwtUtils.EXPIRE_DAYS)
+        .plusHours(JwtUtils.EXPIRE_HOURS)
+        .plusMinutes(JwtUtils.EXPIRE_MINUTES);
+
+    private final JwtParser parser;
+    private final Cache<String, Claims> verifiedTokens;
+    private final Cache<Long, Instant> credentialsChangedAt;
+    private final TokenRevocationService tokenRevocationService;
+
+    public JwtService(TokenRevocationService tokenRevocationService,
+            @Value("${ecommerce.jwt.verified-token-cache-size:10000}") long verifiedTokenCacheSize) {
+        this.tokenRevocationService = tokenRevocationService;
+        this.parser = Jwts.parser().verifyWith(JwtUtils.generateKey()).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(verifiedTokenCacheSize)
+            .expireAfter(new UntilTokenExpiration())
+            .build();
+        this.credentialsChangedAt = Caffeine.newBuilder()
+            .expireAfterWrite(TOKEN_LIFETIME)
+            .build();
+    }
+
+    @Timed(SpringMetricsConfig.JWT_VERIFICATION_TIMER)
+    public Claims parseToken(String token) {
+        String jwt = JwtUtils.refactorToken(token);
+        String hash = hash(jwt);
+
+        Claims claims = verifiedTokens.getIfPresent(hash);
+
+        if (claims == null) {
+            try {
+                claims = parser.parseSignedClaims(jwt).getPayload();
+            } catch (JwtException ex) {
+                log.error(String.format("Invalid Token %s", ex.getMessage()));
+                return null;
+            }
+
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(hash, claims);
+            }
+        }
+
+        if (isRevoked(claims)) {
+            log.info("JWT Token was issued before the user's credentials changed");
+            return null;
+        }
+
+        if (tokenRevocationService.isRevoked(claims.getId())) {
+            log.info("JWT Token was revoked");
+            return null;
+        }
+
+        return claims;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        credentialsChangedAt.put(event.getUserId(), Instant.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    private boolean isRevoked(Claims claims) {
+        Long id = claims.get(JwtUtils.JWT_ID_CLAIM, Long.class);
+
+        if (id == null || claims.getIssuedAt() == null) {
+            return false;
+        }
+
+        Instant changedAt = credentialsChangedAt.getIfPresent(id);
+        return changedAt != null && claims.getIssuedAt().toInstant().isBefore(changedAt);
+    }
+
+    private static String hash(String jwt) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(jwt.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static final class UntilTokenExpiration implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String hash, Claims claims, long currentTime) {
+            return Math.max(0, TimeUnit.MILLISECONDS.toNanos(claims.getExpiration().getTime() - new Date().getTime()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String hash, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String hash, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
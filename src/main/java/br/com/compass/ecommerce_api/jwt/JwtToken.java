@@ -1,5 +1,7 @@
 package br.com.compass.ecommerce_api.jwt;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,4 +14,7 @@ import lombok.Setter;
 public class JwtToken {
 
     private String token;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String refreshToken;
 }
@@ -6,18 +6,26 @@ import br.com.compass.ecommerce_api.entities.User;
 
 public class JwtUserDetails extends org.springframework.security.core.userdetails.User {
 
-    private User user;
+    private final Long id;
+    private final String role;
 
     public JwtUserDetails(User user) {
         super(user.getEmail(), user.getPassword(), AuthorityUtils.createAuthorityList(user.getRole().name()));
-        this.user = user;
+        this.id = user.getId();
+        this.role = user.getRole().name();
+    }
+
+    public JwtUserDetails(Long id, String email, String role) {
+        super(email, "", AuthorityUtils.createAuthorityList(role));
+        this.id = id;
+        this.role = role;
     }
 
     public Long getId() {
-        return this.user.getId();
+        return this.id;
     }
 
     public String getRole() {
-        return this.user.getRole().name();
+        return this.role;
     }
 }
@@ -1,18 +1,20 @@
 package br.com.compass.ecommerce_api.jwt;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import br.com.compass.ecommerce_api.config.SpringCacheConfig;
 import br.com.compass.ecommerce_api.entities.User;
-import br.com.compass.ecommerce_api.enums.UserRole;
 import br.com.compass.ecommerce_api.services.UserService;
 import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor
 @Service
-public class JwtUserDetailsService implements UserDetailsService {
+public class JwtUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserService userService;
 
@@ -22,8 +24,24 @@ public class JwtUserDetailsService implements UserDetailsService {
         return new JwtUserDetails(user);
     }
 
-    public JwtToken getTokenAuthenticated(String email) {
-        UserRole role = userService.findRoleByEmail(email);
-        return JwtUtils.createToken(email, role.name());
+    /**
+     * Called after a successful login whose stored hash was made with a different BCrypt
+     * strength, with the password hashed again at the configured one.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        JwtUserDetails details = (JwtUserDetails) user;
+        userService.upgradePasswordHash(details.getUsername(), newPassword);
+        return new JwtUserDetails(details.getId(), details.getUsername(), details.getRole());
+    }
+
+    @Cacheable(cacheNames = SpringCacheConfig.USER_DETAILS_CACHE)
+    public JwtUserDetails loadPrincipalByUsername(String email) {
+        User user = userService.findByEmail(email);
+        return new JwtUserDetails(user.getId(), user.getEmail(), user.getRole().name());
+    }
+
+    public JwtToken getTokenAuthenticated(JwtUserDetails userDetails) {
+        return JwtUtils.createToken(userDetails.getId(), userDetails.getUsername(), userDetails.getRole());
     }
 }
@@ -4,29 +4,30 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.UUID;
 
 import javax.crypto.SecretKey;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.extern.slf4j.Slf4j;
 
-@Slf4j
 public class JwtUtils {
 
     public static final String JWT_BEARER = "Bearer ";
     public static final String JWT_AUTHORIZATION = "Authorization";
+    public static final String JWT_ID_CLAIM = "id";
+    public static final String JWT_ROLE_CLAIM = "role";
     public static final String SECRET_KEY = "0123456789-0123456789-0123456789";
     public static final long EXPIRE_DAYS = 0;
     public static final long EXPIRE_HOURS = 0;
     public static final long EXPIRE_MINUTES = 30; 
 
+    private static final SecretKey KEY = generateKey();
+
     private JwtUtils() {
     }
 
-    private static SecretKey generateKey() {
+    static SecretKey generateKey() {
         return Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
     }
 
@@ -36,7 +37,7 @@ public class JwtUtils {
         return Date.from(end.atZone(ZoneId.systemDefault()).toInstant());
     }
 
-    public static JwtToken createToken(String username, String role) {
+    public static JwtToken createToken(Long id, String username, String role) {
         Date issuedAt = new Date();
         Date limit = toExpireDate(issuedAt);
 
@@ -44,46 +45,19 @@ public class JwtUtils {
             .header()
                 .type("JWT")
                 .and()
+            .id(UUID.randomUUID().toString())
             .subject(username)
             .issuedAt(issuedAt)
             .expiration(limit)
-            .signWith(generateKey())
-            .claim("role", role)
+            .signWith(KEY)
+            .claim(JWT_ID_CLAIM, id)
+            .claim(JWT_ROLE_CLAIM, role)
             .compact();
     
-        return new JwtToken(token);
-    }
-
-    private static Claims getClaimsFromToken(String token) {
-        try {
-            return Jwts.parser()
-                .verifyWith(generateKey()).build()
-                .parseSignedClaims(refactorToken(token)).getPayload();
-        } catch (JwtException ex) {
-            log.error(String.format("Invalid Token %s", ex.getMessage()));
-        }
-
-        return null;
-    }
-
-    public static String getUsernameFromToken(String token) {
-        return getClaimsFromToken(token).getSubject();
-    }
-
-    public static boolean isTokenValid(String token) {
-        try {
-            Jwts.parser()
-                .verifyWith(generateKey()).build()
-                .parseSignedClaims(refactorToken(token));
-            return true;
-        } catch (JwtException ex) {
-            log.error(String.format("Invalid Token %s", ex.getMessage()));
-        }
-
-        return false;
+        return new JwtToken(token, null);
     }
 
-    private static String refactorToken(String token) {
+    static String refactorToken(String token) {
         if (token.contains(JWT_BEARER)) {
             return token.substring(JWT_BEARER.length());
         }
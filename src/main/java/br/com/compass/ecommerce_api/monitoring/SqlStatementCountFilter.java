@@ -0,0 +1,72 @@
+package br.com.compass.ecommerce_api.monitoring;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts the SQL statements each request runs and records them per controller method. A
+ * request over the statement threshold is logged, and so is a request that repeats one
+ * statement more times than the repeat threshold, which is the usual shape of an N+1.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@SuppressWarnings("null")
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_SUMMARY = "ecommerce.sql.statements";
+
+    private final MeterRegistry meterRegistry;
+    private final int statementThreshold;
+    private final int repeatedStatementThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            filterChain.doFilter(request, response);
+            record(request, scope);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Scope scope) {
+        String handler = handlerOf(request);
+
+        DistributionSummary.builder(STATEMENTS_SUMMARY)
+            .tag("handler", handler)
+            .register(meterRegistry)
+            .record(scope.getCount());
+
+        if (scope.getCount() > statementThreshold) {
+            log.warn("{} {} ({}) ran {} SQL statements", request.getMethod(), request.getRequestURI(), handler, scope.getCount());
+        }
+
+        Map.Entry<String, Integer> mostRepeated = scope.getMostRepeated();
+
+        if (mostRepeated != null && mostRepeated.getValue() > repeatedStatementThreshold) {
+            log.warn("{} {} ({}) ran the same statement {} times, possible N+1: {}",
+                request.getMethod(), request.getRequestURI(), handler, mostRepeated.getValue(), mostRepeated.getKey());
+        }
+    }
+
+    private static String handlerOf(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+
+        return "none";
+    }
+}
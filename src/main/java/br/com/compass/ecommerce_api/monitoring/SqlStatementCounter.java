@@ -0,0 +1,69 @@
+package br.com.compass.ecommerce_api.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a {@link Scope}
+ * is open. A JDBC batch is prepared once, so a batched insert counts as one statement no
+ * matter how many rows it carries. Statements issued through JdbcTemplate bypass Hibernate
+ * and are not counted.
+ *
+ * <p>Scopes nest: a statement counts toward every open scope on the thread, so a test can
+ * measure one call while a request-wide scope is active.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.record(sql);
+        }
+
+        return sql;
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final Map<String, Integer> executions = new HashMap<>();
+        private int count;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * The statement run the most times in this scope, or {@code null} if none ran. A high
+         * count for one statement shape usually means a query is issued once per row of an
+         * earlier result.
+         */
+        public Map.Entry<String, Integer> getMostRepeated() {
+            return executions.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+        }
+
+        private void record(String sql) {
+            count++;
+            executions.merge(sql, 1, Integer::sum);
+        }
+
+        @Override
+        public void close() {
+            CURRENT.set(parent);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.compass.ecommerce_api.projections;
+
+import java.math.BigDecimal;
+
+public interface CheckoutItemProjection {
+
+    Long getProductId();
+    String getProductName();
+    BigDecimal getAmount();
+    Integer getQuantity();
+    Integer getStockQuantity();
+    Integer getTimesPurchased();
+}
@@ -0,0 +1,15 @@
+package br.com.compass.ecommerce_api.projections;
+
+import java.math.BigDecimal;
+
+import br.com.compass.ecommerce_api.enums.ProductStatus;
+
+public interface ProductDocumentProjection {
+
+    Long getId();
+    String getName();
+    String getDescription();
+    ProductStatus getStatus();
+    BigDecimal getAmount();
+    Integer getTimesPurchased();
+}
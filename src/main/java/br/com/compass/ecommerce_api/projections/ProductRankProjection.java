@@ -0,0 +1,7 @@
+package br.com.compass.ecommerce_api.projections;
+
+public interface ProductRankProjection {
+
+    Long getId();
+    Integer getTimesPurchased();
+}
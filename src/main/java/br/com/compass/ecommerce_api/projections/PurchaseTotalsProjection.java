@@ -0,0 +1,9 @@
+package br.com.compass.ecommerce_api.projections;
+
+import java.math.BigDecimal;
+
+public interface PurchaseTotalsProjection {
+
+    BigDecimal getTotalAmount();
+    Long getPurchaseCount();
+}
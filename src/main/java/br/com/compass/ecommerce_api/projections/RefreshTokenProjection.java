@@ -0,0 +1,11 @@
+package br.com.compass.ecommerce_api.projections;
+
+import java.time.LocalDateTime;
+
+public interface RefreshTokenProjection {
+
+    Long getId();
+    Long getUserId();
+    String getEmail();
+    LocalDateTime getExpiryDate();
+}
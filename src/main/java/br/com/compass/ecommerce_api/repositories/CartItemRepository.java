@@ -3,21 +3,45 @@ package br.com.compass.ecommerce_api.repositories;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import br.com.compass.ecommerce_api.entities.CartItem;
 import br.com.compass.ecommerce_api.projections.CartItemProjection;
+import br.com.compass.ecommerce_api.projections.CheckoutItemProjection;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
+    @EntityGraph(attributePaths = "product")
     Page<CartItemProjection> findByUserId(Long userId, Pageable pageable);
 
-    List<CartItem> findByUserId(Long userId);
+    @EntityGraph(attributePaths = "product")
+    Slice<CartItemProjection> findSliceByUserId(Long userId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "product")
+    @Query("SELECT c FROM CartItem c WHERE c.user.id = :userId AND c.id > :afterId ORDER BY c.id")
+    List<CartItemProjection> findByUserIdAfter(Long userId, Long afterId, Limit limit);
+
+    @Query("""
+    SELECT p.id AS productId, p.name AS productName, p.amount AS amount,
+        c.quantity AS quantity, s.quantity AS stockQuantity, p.timesPurchased AS timesPurchased
+    FROM CartItem c
+    JOIN c.product p
+    LEFT JOIN Stock s ON s.product = p
+    WHERE c.user.id = :userId
+    """)
+    List<CheckoutItemProjection> findCheckoutItems(Long userId);
 
     Optional<CartItem> findByUserIdAndProductId(Long userId, Long productId);
 
+    @Modifying
+    @Query("DELETE FROM CartItem c WHERE c.user.id = :userId")
     void deleteByUserId(Long userId);
 
     boolean existsByUserIdAndProductId(Long userId, Long productId);
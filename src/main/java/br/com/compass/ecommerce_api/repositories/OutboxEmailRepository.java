@@ -0,0 +1,22 @@
+package br.com.compass.ecommerce_api.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import br.com.compass.ecommerce_api.entities.OutboxEmail;
+import br.com.compass.ecommerce_api.enums.EmailStatus;
+
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+    @Query("SELECT e FROM OutboxEmail e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt, e.id")
+    List<OutboxEmail> findDue(EmailStatus status, LocalDateTime now, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEmail e WHERE e.status = :status AND e.creationDate < :before")
+    int deleteByStatusCreatedBefore(EmailStatus status, LocalDateTime before);
+}
@@ -1,12 +1,19 @@
 package br.com.compass.ecommerce_api.repositories;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import br.com.compass.ecommerce_api.entities.PasswordResetToken;
 
 public interface PasswordTokenRepository extends JpaRepository<PasswordResetToken, Long> {
 
     Optional<PasswordResetToken> findByToken(String token);
+
+    @Modifying
+    @Query("UPDATE PasswordResetToken t SET t.used = true WHERE t.token = :token AND t.used = false AND t.expiryDate > :now")
+    int markUsed(String token, LocalDateTime now);
 }
@@ -1,18 +1,58 @@
 package br.com.compass.ecommerce_api.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import br.com.compass.ecommerce_api.entities.Product;
+import br.com.compass.ecommerce_api.projections.ProductDocumentProjection;
 import br.com.compass.ecommerce_api.projections.ProductProjection;
+import br.com.compass.ecommerce_api.projections.ProductRankProjection;
+import jakarta.persistence.QueryHint;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    @Query("SELECT p FROM Product p ORDER BY p.timesPurchased DESC")
+    @Query("SELECT p FROM Product p ORDER BY p.timesPurchased DESC, p.id")
     Page<ProductProjection> findBestSelling(Pageable pageable);
 
     @Query("SELECT p FROM Product p")
     Page<ProductProjection> findAllPageable(Pageable pageable);
+
+    @Query("SELECT p FROM Product p")
+    Slice<ProductProjection> findAllSliced(Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductProjection> findAllAfter(Long afterId, Limit limit);
+
+    @Query("SELECT p.id AS id, p.timesPurchased AS timesPurchased FROM Product p ORDER BY p.timesPurchased DESC, p.id")
+    List<ProductRankProjection> findTopRanked(Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids")
+    List<ProductProjection> findProjectionsByIdIn(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+    SELECT p.id AS id, p.name AS name, p.description AS description, p.status AS status,
+        p.amount AS amount, p.timesPurchased AS timesPurchased
+    FROM Product p
+    """)
+    Stream<ProductDocumentProjection> streamDocuments();
+
+    @Query("""
+    SELECT p.id AS id, p.name AS name, p.description AS description, p.status AS status,
+        p.amount AS amount, p.timesPurchased AS timesPurchased
+    FROM Product p
+    WHERE p.id IN :ids
+    """)
+    List<ProductDocumentProjection> findDocumentsByIdIn(Collection<Long> ids);
 }
@@ -2,29 +2,42 @@ package br.com.compass.ecommerce_api.repositories;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.stream.Stream;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import br.com.compass.ecommerce_api.entities.Purchase;
+import br.com.compass.ecommerce_api.projections.PurchaseTotalsProjection;
 import br.com.compass.ecommerce_api.projections.TopBuyerProjection;
+import jakarta.persistence.QueryHint;
 
 public interface PurchaseRepository extends JpaRepository<Purchase, Long> {
 
     @Query("SELECT SUM(p.totalAmount) FROM Purchase p WHERE p.purchaseDate >= :start AND p.purchaseDate <= :end")
     BigDecimal getTotalAmount(LocalDateTime start, LocalDateTime end);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
     @Query("""
     SELECT u.id AS userId, u.name AS userName, COUNT(p.id) AS purchaseCount
     FROM Purchase p
     JOIN p.user u
     GROUP BY u.id, u.name
-    ORDER BY COUNT(p.id) DESC
     """)
-    Page<TopBuyerProjection> findTopBuyers(Pageable pageable);
+    Stream<TopBuyerProjection> streamBuyerCounts();
 
     @Query("SELECT COUNT(p) FROM Purchase p WHERE p.purchaseDate >= :start AND p.purchaseDate <= :end")
     Integer getTotalPurchases(LocalDateTime start, LocalDateTime end);
+
+    @Query("""
+    SELECT SUM(p.totalAmount) AS totalAmount, COUNT(p) AS purchaseCount
+    FROM Purchase p
+    WHERE p.purchaseDate >= :start AND p.purchaseDate < :end
+    """)
+    PurchaseTotalsProjection getTotals(LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT MIN(p.purchaseDate) FROM Purchase p")
+    LocalDateTime findFirstPurchaseDate();
 }
@@ -0,0 +1,22 @@
+package br.com.compass.ecommerce_api.repositories;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import br.com.compass.ecommerce_api.entities.PurchaseRollup;
+import br.com.compass.ecommerce_api.projections.PurchaseTotalsProjection;
+
+public interface PurchaseRollupRepository extends JpaRepository<PurchaseRollup, Long> {
+
+    @Query("SELECT MAX(r.bucketStart) FROM PurchaseRollup r")
+    LocalDateTime findLastBucketStart();
+
+    @Query("""
+    SELECT SUM(r.totalAmount) AS totalAmount, SUM(r.purchaseCount) AS purchaseCount
+    FROM PurchaseRollup r
+    WHERE r.bucketStart >= :start AND r.bucketStart < :end
+    """)
+    PurchaseTotalsProjection getTotals(LocalDateTime start, LocalDateTime end);
+}
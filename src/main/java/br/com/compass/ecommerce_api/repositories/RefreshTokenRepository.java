@@ -0,0 +1,36 @@
+package br.com.compass.ecommerce_api.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import br.com.compass.ecommerce_api.entities.RefreshToken;
+import br.com.compass.ecommerce_api.projections.RefreshTokenProjection;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    @Query("""
+        SELECT t.id AS id, t.user.id AS userId, t.user.email AS email, t.expiryDate AS expiryDate
+        FROM RefreshToken t WHERE t.tokenHash = :tokenHash
+        """)
+    Optional<RefreshTokenProjection> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.id = :id")
+    int deleteRotated(Long id);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.tokenHash = :tokenHash")
+    int deleteByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.user.id = :userId")
+    int deleteByUserId(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiryDate < :now")
+    int deleteExpired(LocalDateTime now);
+}
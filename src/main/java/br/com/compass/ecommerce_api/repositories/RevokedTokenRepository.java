@@ -0,0 +1,22 @@
+package br.com.compass.ecommerce_api.repositories;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import br.com.compass.ecommerce_api.entities.RevokedToken;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    boolean existsByJti(String jti);
+
+    @Query("SELECT t.jti FROM RevokedToken t WHERE t.expiryDate >= :now")
+    Stream<String> streamActiveJtis(LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiryDate < :now")
+    int deleteExpired(LocalDateTime now);
+}
@@ -1,14 +1,25 @@
 package br.com.compass.ecommerce_api.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import br.com.compass.ecommerce_api.entities.Stock;
+import br.com.compass.ecommerce_api.projections.StockLevelProjection;
 import br.com.compass.ecommerce_api.projections.StockProjection;
+import jakarta.persistence.QueryHint;
 
 public interface StockRepository extends JpaRepository<Stock, Long> {
 
@@ -17,6 +28,44 @@ public interface StockRepository extends JpaRepository<Stock, Long> {
     @Query("SELECT s FROM Stock s WHERE s.quantity < 10")
     Page<StockProjection> findLowStock(Pageable pageable);
 
+    @Query("SELECT s FROM Stock s WHERE s.quantity < 10")
+    Slice<StockProjection> findLowStockSliced(Pageable pageable);
+
     @Query("SELECT s FROM Stock s")
     Page<StockProjection> findAllPageable(Pageable pageable);
+
+    @Query("SELECT s FROM Stock s")
+    Slice<StockProjection> findAllSliced(Pageable pageable);
+
+    @Query("SELECT s FROM Stock s WHERE s.id > :afterId ORDER BY s.id")
+    List<StockProjection> findAllAfter(Long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT s.product.id AS productId, s.quantity AS quantity FROM Stock s")
+    Stream<StockLevelProjection> streamStockLevels();
+
+    @Query("SELECT s.product.id AS productId, s.quantity AS quantity FROM Stock s WHERE s.product.id IN :productIds")
+    List<StockLevelProjection> findStockLevels(Collection<Long> productIds);
+
+    @Modifying
+    @Query("""
+    UPDATE Stock s
+    SET s.quantity = s.quantity - :quantity, s.modificationDate = :now
+    WHERE s.id = :id AND s.quantity >= :quantity
+    """)
+    int decreaseIfAvailable(Long id, Integer quantity, LocalDateTime now);
+
+    @Modifying
+    @Query("""
+    UPDATE Stock s
+    SET s.quantity = s.quantity - (
+            SELECT c.quantity FROM CartItem c WHERE c.user.id = :userId AND c.product.id = s.product.id
+        ),
+        s.modificationDate = :now
+    WHERE s.product.id IN (SELECT c.product.id FROM CartItem c WHERE c.user.id = :userId)
+    AND s.quantity >= (
+            SELECT c.quantity FROM CartItem c WHERE c.user.id = :userId AND c.product.id = s.product.id
+        )
+    """)
+    int decreaseByCartIfAvailable(Long userId, LocalDateTime now);
 }
@@ -1,10 +1,14 @@
 package br.com.compass.ecommerce_api.repositories;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import br.com.compass.ecommerce_api.entities.User;
@@ -18,6 +22,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u.role FROM User u WHERE u.email LIKE :email")
     UserRole findRoleByEmail(String email);
 
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePasswordByEmail(String email, String password);
+
+    @Query("SELECT u.name FROM User u WHERE u.id = :id")
+    String findNameById(Long id);
+
     @Query("SELECT u FROM User u")
     Page<UserProjection> findAllPageable(Pageable pageable);
+
+    @Query("SELECT u FROM User u")
+    Slice<UserProjection> findAllSliced(Pageable pageable);
+
+    @Query("SELECT u FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserProjection> findAllAfter(Long afterId, Limit limit);
 }
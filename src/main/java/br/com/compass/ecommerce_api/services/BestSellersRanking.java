@@ -0,0 +1,276 @@
+package br.com.compass.ecommerce_api.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.compass.ecommerce_api.events.ProductChangedEvent;
+import br.com.compass.ecommerce_api.events.PurchaseCompletedEvent;
+import br.com.compass.ecommerce_api.projections.CheckoutItemProjection;
+import br.com.compass.ecommerce_api.projections.ProductProjection;
+import br.com.compass.ecommerce_api.projections.ProductRankProjection;
+import br.com.compass.ecommerce_api.repositories.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Best-selling ranking kept in memory for the top K products, so the first pages of
+ * /products/best-selling only hydrate the listed products by id. Deeper pages fall back to
+ * the times_purchased index.
+ *
+ * <p>Purchases no longer update times_purchased per checkout: quantities accumulate as
+ * pending deltas and are flushed in one JDBC batch per interval. Pending deltas are lost if
+ * the process dies before the next flush, and they are counted when deciding whether a
+ * product was ever purchased. The last flush runs on shutdown and reindexes the flushed
+ * products, so the search index is kept open until it completes.
+ */
+@DependsOn("productSearchIndex")
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class BestSellersRanking {
+
+    private static final Comparator<RankedProduct> RANKING = Comparator
+        .comparingLong(RankedProduct::getTimesPurchased).reversed()
+        .thenComparing(RankedProduct::getProductId);
+
+    private static final String FLUSH_SQL =
+        "UPDATE products SET times_purchased = times_purchased + ?, modification_date = ? WHERE id = ?";
+
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+    private final Map<Long, RankedProduct> topByProduct = new HashMap<>();
+    private final NavigableSet<RankedProduct> top = new ConcurrentSkipListSet<>(RANKING);
+    private volatile long productCount;
+
+    @Value("${ecommerce.best-sellers.top-k:100}")
+    private int topK;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${ecommerce.best-sellers.rebuild-interval:PT10M}",
+        fixedDelayString = "${ecommerce.best-sellers.rebuild-interval:PT10M}")
+    @Transactional
+    public void rebuild() {
+        flush();
+
+        List<ProductRankProjection> ranked = productRepository.findTopRanked(PageRequest.of(0, topK));
+        long count = productRepository.count();
+
+        synchronized (this) {
+            top.clear();
+            topByProduct.clear();
+
+            for (ProductRankProjection product : ranked) {
+                offer(product.getId(), product.getTimesPurchased() + pending.getOrDefault(product.getId(), 0L));
+            }
+
+            productCount = count;
+        }
+    }
+
+    @TransactionalEventListener
+    public void onPurchaseCompleted(PurchaseCompletedEvent event) {
+        for (CheckoutItemProjection item : event.getItems()) {
+            long pendingQuantity = pending.merge(item.getProductId(), item.getQuantity().longValue(), Long::sum);
+
+            synchronized (this) {
+                offer(item.getProductId(), item.getTimesPurchased() + pendingQuantity);
+            }
+        }
+    }
+
+    /**
+     * Applied after commit, so a rolled-back insert or delete never moves the ranking or the
+     * product count.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        switch (event.getChange()) {
+            case CREATED -> {
+                for (Long productId : event.getProductIds()) {
+                    productCount++;
+                    offer(productId, 0);
+                }
+            }
+            case DELETED -> {
+                for (Long productId : event.getProductIds()) {
+                    productCount--;
+                    RankedProduct removed = topByProduct.remove(productId);
+
+                    if (removed != null) {
+                        top.remove(removed);
+                    }
+                }
+            }
+            case UPDATED -> {
+            }
+        }
+    }
+
+    public boolean hasPendingPurchases(Long productId) {
+        return pending.containsKey(productId);
+    }
+
+    @Scheduled(fixedDelayString = "${ecommerce.best-sellers.flush-interval:PT5S}")
+    @Transactional
+    public void flush() {
+        Map<Long, Long> drained = new HashMap<>();
+
+        for (Long productId : pending.keySet()) {
+            Long quantity = pending.remove(productId);
+
+            if (quantity != null) {
+                drained.put(productId, quantity);
+            }
+        }
+
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        restoreOnRollback(drained);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> args = new ArrayList<>(drained.size());
+        drained.forEach((productId, quantity) -> args.add(new Object[] {quantity, now, productId}));
+
+        jdbcTemplate.batchUpdate(FLUSH_SQL, args);
+        eventPublisher.publishEvent(new ProductChangedEvent(drained.keySet()));
+        log.debug("Flushed purchase counts for {} products", drained.size());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public Page<ProductProjection> findPage(Pageable pageable) {
+        List<RankedProduct> snapshot = new ArrayList<>(top);
+        long total = productCount;
+        boolean complete = snapshot.size() >= total;
+
+        if (!complete && pageable.getOffset() + pageable.getPageSize() > snapshot.size()) {
+            return productRepository.findBestSelling(pageable);
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), snapshot.size());
+        int to = Math.min(from + pageable.getPageSize(), snapshot.size());
+        List<RankedProduct> page = snapshot.subList(from, to);
+
+        if (page.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, Math.max(total, snapshot.size()));
+        }
+
+        Map<Long, ProductProjection> details = new HashMap<>();
+        List<Long> ids = page.stream().map(RankedProduct::getProductId).toList();
+
+        for (ProductProjection product : productRepository.findProjectionsByIdIn(ids)) {
+            details.put(product.getId(), product);
+        }
+
+        List<ProductProjection> content = new ArrayList<>(page.size());
+
+        for (RankedProduct ranked : page) {
+            ProductProjection product = details.get(ranked.getProductId());
+
+            if (product != null) {
+                content.add(new RankedProductView(product.getId(), product.getName(), product.getDescription(),
+                    product.getAmount(), Math.toIntExact(ranked.getTimesPurchased())));
+            }
+        }
+
+        return new PageImpl<>(content, pageable, Math.max(total, snapshot.size()));
+    }
+
+    private void offer(Long productId, long timesPurchased) {
+        RankedProduct previous = topByProduct.get(productId);
+
+        if (previous != null && previous.getTimesPurchased() >= timesPurchased) {
+            return;
+        }
+
+        RankedProduct updated = new RankedProduct(productId, timesPurchased);
+
+        if (previous == null && top.size() >= topK) {
+            RankedProduct last = top.last();
+
+            if (RANKING.compare(updated, last) >= 0) {
+                return;
+            }
+
+            top.remove(last);
+            topByProduct.remove(last.getProductId());
+        }
+
+        top.add(updated);
+        topByProduct.put(productId, updated);
+
+        if (previous != null) {
+            top.remove(previous);
+        }
+    }
+
+    private void restoreOnRollback(Map<Long, Long> drained) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    drained.forEach((productId, quantity) -> pending.merge(productId, quantity, Long::sum));
+                }
+            }
+        });
+    }
+
+    @AllArgsConstructor
+    @Getter
+    private static final class RankedProduct {
+
+        private final Long productId;
+        private final long timesPurchased;
+    }
+
+    @AllArgsConstructor
+    @Getter
+    private static final class RankedProductView implements ProductProjection {
+
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final BigDecimal amount;
+        private final Integer timesPurchased;
+    }
+}
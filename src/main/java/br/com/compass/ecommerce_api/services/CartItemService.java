@@ -3,11 +3,14 @@ package br.com.compass.ecommerce_api.services;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import br.com.compass.ecommerce_api.config.SpringMetricsConfig;
 import br.com.compass.ecommerce_api.entities.CartItem;
 import br.com.compass.ecommerce_api.entities.Product;
 import br.com.compass.ecommerce_api.entities.User;
@@ -15,9 +18,12 @@ import br.com.compass.ecommerce_api.enums.ProductStatus;
 import br.com.compass.ecommerce_api.exceptions.EntityNotFoundException;
 import br.com.compass.ecommerce_api.exceptions.ProductInactiveException;
 import br.com.compass.ecommerce_api.projections.CartItemProjection;
+import br.com.compass.ecommerce_api.projections.CheckoutItemProjection;
 import br.com.compass.ecommerce_api.repositories.CartItemRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
+@Timed(SpringMetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Service
 public class CartItemService {
@@ -25,6 +31,7 @@ public class CartItemService {
     private final CartItemRepository cartItemRepository;
     private final ProductService productService;
     private final UserService userService;
+    private final StockReservationLedger stockReservationLedger;
 
     @Transactional
     public void addToCart(CartItem newCartItem, Long userId, Long productId) {
@@ -37,6 +44,8 @@ public class CartItemService {
             );
         }
 
+        stockReservationLedger.reserve(userId, productId, newCartItem.getQuantity());
+
         Optional<CartItem> existingItemOpt = cartItemRepository.findByUserIdAndProductId(userId, productId);
 
         if (existingItemOpt.isPresent()) {
@@ -73,12 +82,22 @@ public class CartItemService {
     }
 
     @Transactional(readOnly = true)
-    public List<CartItem> findByUserId(Long id) {
-        return cartItemRepository.findByUserId(id);
+    public List<CheckoutItemProjection> findCheckoutItems(Long userId) {
+        return cartItemRepository.findCheckoutItems(userId);
     }
 
     @Transactional(readOnly = true)
     public Page<CartItemProjection> getCart(Long id, Pageable pageable) {
         return cartItemRepository.findByUserId(id, pageable);
     }
+
+    @Transactional(readOnly = true)
+    public Slice<CartItemProjection> getCartSliced(Long id, Pageable pageable) {
+        return cartItemRepository.findSliceByUserId(id, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CartItemProjection> getCartAfter(Long id, Long afterId, int limit) {
+        return cartItemRepository.findByUserIdAfter(id, afterId, Limit.of(limit + 1));
+    }
 }
@@ -0,0 +1,164 @@
+package br.com.compass.ecommerce_api.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.compass.ecommerce_api.entities.OutboxEmail;
+import br.com.compass.ecommerce_api.enums.EmailStatus;
+import br.com.compass.ecommerce_api.repositories.OutboxEmailRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers the email outbox. Emails are written to the outbox in the transaction of the
+ * request that triggers them, so the request never waits on SMTP and a rolled back request
+ * sends nothing. This job picks up due emails in batches and sends each batch over a single
+ * SMTP connection, without holding a database connection while it talks to the server.
+ *
+ * <p>Failed emails are retried with exponential backoff, capped at the configured maximum,
+ * and marked FAILED once they run out of attempts. Sent emails are purged after the retention
+ * period. Like the other scheduled jobs, this assumes a single instance is dispatching.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${spring.mail.username}")
+    private String sender;
+
+    @Value("${ecommerce.email.batch-size:50}")
+    private int batchSize;
+
+    @Value("${ecommerce.email.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${ecommerce.email.retry-backoff:PT30S}")
+    private Duration retryBackoff;
+
+    @Value("${ecommerce.email.max-retry-backoff:PT1H}")
+    private Duration maxRetryBackoff;
+
+    @Value("${ecommerce.email.retention:P7D}")
+    private Duration retention;
+
+    @Scheduled(fixedDelayString = "${ecommerce.email.dispatch-interval:PT5S}")
+    public void dispatch() {
+        List<OutboxEmail> due;
+
+        do {
+            due = outboxEmailRepository.findDue(EmailStatus.PENDING, LocalDateTime.now(), Limit.of(batchSize));
+
+            if (due.isEmpty()) {
+                return;
+            }
+
+            List<Long> ids = due.stream().map(OutboxEmail::getId).toList();
+            Map<Long, Exception> failures = send(due);
+            transactionTemplate.executeWithoutResult(status -> record(ids, failures));
+        } while (due.size() == batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${ecommerce.email.purge-interval:PT1H}")
+    @Transactional
+    public void purgeSent() {
+        int purged = outboxEmailRepository.deleteByStatusCreatedBefore(EmailStatus.SENT, LocalDateTime.now().minus(retention));
+
+        if (purged > 0) {
+            log.info("Purged {} sent emails from the outbox", purged);
+        }
+    }
+
+    private Map<Long, Exception> send(List<OutboxEmail> emails) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[emails.size()];
+
+        for (int i = 0; i < messages.length; i++) {
+            messages[i] = toMessage(emails.get(i));
+        }
+
+        Map<Long, Exception> failures = new HashMap<>();
+
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException ex) {
+            // Failed messages are keyed by equality, so identical emails share one entry.
+            Map<Object, Exception> failedMessages = ex.getFailedMessages();
+
+            for (int i = 0; i < messages.length; i++) {
+                Exception cause = failedMessages.get(messages[i]);
+
+                if (cause != null) {
+                    failures.put(emails.get(i).getId(), cause);
+                }
+            }
+        } catch (MailException ex) {
+            emails.forEach(email -> failures.put(email.getId(), ex));
+        }
+
+        return failures;
+    }
+
+    private void record(List<Long> ids, Map<Long, Exception> failures) {
+        LocalDateTime now = LocalDateTime.now();
+
+        for (OutboxEmail email : outboxEmailRepository.findAllById(ids)) {
+            Exception failure = failures.get(email.getId());
+            email.setAttempts(email.getAttempts() + 1);
+
+            if (failure == null) {
+                email.setStatus(EmailStatus.SENT);
+                email.setSentDate(now);
+                email.setLastError(null);
+                continue;
+            }
+
+            email.setLastError(truncate(String.valueOf(failure.getMessage())));
+
+            if (email.getAttempts() >= maxAttempts) {
+                email.setStatus(EmailStatus.FAILED);
+                log.warn("Email {} to {} failed after {} attempts: {}",
+                    email.getId(), email.getRecipient(), email.getAttempts(), email.getLastError());
+            } else {
+                email.setNextAttemptAt(now.plus(backoff(email.getAttempts())));
+            }
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+
+    private SimpleMailMessage toMessage(OutboxEmail email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(sender);
+        message.setTo(email.getRecipient());
+        message.setSubject(email.getSubject());
+        message.setText(email.getBody());
+        return message;
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -1,29 +1,29 @@
 package br.com.compass.ecommerce_api.services;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import java.time.LocalDateTime;
+
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.compass.ecommerce_api.entities.OutboxEmail;
+import br.com.compass.ecommerce_api.repositories.OutboxEmailRepository;
+import lombok.RequiredArgsConstructor;
 
+@RequiredArgsConstructor
 @Service
 public class EmailService {
 
-    @Autowired
-    private JavaMailSender mailSender;
-
-    @Value("${spring.mail.username}")
-    private String sender;
+    private final OutboxEmailRepository outboxEmailRepository;
 
-    public void sendEmail(String to, String link) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(sender);
-        message.setTo(to);
-        message.setSubject("Password Reset Request");
-        message.setText(
-            String.format("Access the link to update your password: %s", link)
-        );
+    @Transactional
+    public void queuePasswordResetEmail(String to, String link) {
+        OutboxEmail email = OutboxEmail.builder()
+            .recipient(to)
+            .subject("Password Reset Request")
+            .body(String.format("Access the link to update your password: %s", link))
+            .nextAttemptAt(LocalDateTime.now())
+            .build();
 
-        mailSender.send(message);
+        outboxEmailRepository.save(email);
     }
 }
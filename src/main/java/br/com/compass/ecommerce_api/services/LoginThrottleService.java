@@ -0,0 +1,105 @@
+package br.com.compass.ecommerce_api.services;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import br.com.compass.ecommerce_api.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Throttles failed logins per email and per client IP, in memory. Each key counts its
+ * failures in a fixed window that opens with the first failure. Once a key reaches its limit,
+ * login attempts are refused before any password is checked until the window closes, which
+ * keeps a credential-stuffing burst from spending BCrypt time. A successful login clears the
+ * email's count. Counts are kept per instance and reset on restart.
+ */
+@Service
+public class LoginThrottleService {
+
+    private static final long MAX_TRACKED_KEYS = 100_000;
+
+    private final Cache<String, Failures> failuresByEmail;
+    private final Cache<String, Failures> failuresByIp;
+    private final int maxFailuresPerEmail;
+    private final int maxFailuresPerIp;
+    private final Duration failureWindow;
+    private final Counter throttledByEmail;
+    private final Counter throttledByIp;
+
+    public LoginThrottleService(MeterRegistry meterRegistry,
+            @Value("${ecommerce.auth.max-failures-per-email:5}") int maxFailuresPerEmail,
+            @Value("${ecommerce.auth.max-failures-per-ip:50}") int maxFailuresPerIp,
+            @Value("${ecommerce.auth.failure-window:PT15M}") Duration failureWindow) {
+        this.failuresByEmail = Caffeine.newBuilder().maximumSize(MAX_TRACKED_KEYS).expireAfter(new UntilWindowCloses()).build();
+        this.failuresByIp = Caffeine.newBuilder().maximumSize(MAX_TRACKED_KEYS).expireAfter(new UntilWindowCloses()).build();
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.failureWindow = failureWindow;
+        this.throttledByEmail = Counter.builder("ecommerce.auth.throttled").tag("key", "email").register(meterRegistry);
+        this.throttledByIp = Counter.builder("ecommerce.auth.throttled").tag("key", "ip").register(meterRegistry);
+    }
+
+    public void checkAllowed(String email, String ip) {
+        check(failuresByEmail.getIfPresent(key(email)), maxFailuresPerEmail, throttledByEmail);
+        check(failuresByIp.getIfPresent(ip), maxFailuresPerIp, throttledByIp);
+    }
+
+    public void recordFailure(String email, String ip) {
+        long windowEnd = System.nanoTime() + failureWindow.toNanos();
+        failuresByEmail.get(key(email), key -> new Failures(windowEnd)).count.incrementAndGet();
+        failuresByIp.get(ip, key -> new Failures(windowEnd)).count.incrementAndGet();
+    }
+
+    public void recordSuccess(String email) {
+        failuresByEmail.invalidate(key(email));
+    }
+
+    private static void check(Failures failures, int maxFailures, Counter throttled) {
+        if (failures != null && failures.count.get() >= maxFailures) {
+            throttled.increment();
+            throw new TooManyRequestsException("Too many failed login attempts, try again later",
+                Duration.ofNanos(Math.max(0, failures.windowEnd - System.nanoTime())));
+        }
+    }
+
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Failures {
+
+        private final AtomicInteger count = new AtomicInteger();
+        private final long windowEnd;
+
+        Failures(long windowEnd) {
+            this.windowEnd = windowEnd;
+        }
+    }
+
+    private static final class UntilWindowCloses implements Expiry<String, Failures> {
+
+        @Override
+        public long expireAfterCreate(String key, Failures failures, long currentTime) {
+            return Math.max(0, failures.windowEnd - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Failures failures, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Failures failures, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.compass.ecommerce_api.services;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import br.com.compass.ecommerce_api.config.SpringMetricsConfig;
+import br.com.compass.ecommerce_api.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The application's password encoder. BCrypt runs on a small dedicated pool instead of the
+ * request thread, so a burst of logins or sign-ups uses at most that many cores and leaves
+ * the rest to other endpoints. Callers wait for their result. Once the queue in front of the
+ * pool is full, new work is rejected with a 429 instead of piling up request threads.
+ *
+ * <p>A hash made with a cost other than the configured strength is reported as needing an
+ * upgrade, so changing the strength rehashes each password on its next successful login.
+ */
+@RequiredArgsConstructor
+@Service
+public class PasswordHashingService implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ecommerce.password.bcrypt-strength:10}")
+    private int strength;
+
+    @Value("${ecommerce.password.hashing-threads:0}")
+    private int threads;
+
+    @Value("${ecommerce.password.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${ecommerce.password.busy-retry-after:PT1S}")
+    private Duration busyRetryAfter;
+
+    private BCryptPasswordEncoder encoder;
+    private ThreadPoolExecutor executor;
+    private Timer encodeTimer;
+    private Timer matchesTimer;
+    private Counter rejected;
+
+    @PostConstruct
+    public void start() {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        encoder = new BCryptPasswordEncoder(strength);
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+            queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>(), Thread.ofPlatform().name("password-hashing-", 1).daemon().factory());
+
+        encodeTimer = Timer.builder(SpringMetricsConfig.PASSWORD_HASHING_TIMER).tag("operation", "encode").register(meterRegistry);
+        matchesTimer = Timer.builder(SpringMetricsConfig.PASSWORD_HASHING_TIMER).tag("operation", "matches").register(meterRegistry);
+        rejected = Counter.builder(SpringMetricsConfig.PASSWORD_HASHING_TIMER + ".rejected").register(meterRegistry);
+        Gauge.builder(SpringMetricsConfig.PASSWORD_HASHING_TIMER + ".queued", executor, pool -> pool.getQueue().size())
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.recordCallable(() -> encoder.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.recordCallable(() -> encoder.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+
+        Matcher cost = BCRYPT_COST.matcher(encodedPassword);
+        return cost.find() && Integer.parseInt(cost.group(1)) != strength;
+    }
+
+    private <T> T submit(Callable<T> hashing) {
+        Future<T> result;
+
+        try {
+            result = executor.submit(hashing);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many password operations in progress, try again shortly", busyRetryAfter);
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.compass.ecommerce_api.services;
 
+import java.time.LocalDateTime;
+
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,4 +27,13 @@ public class PasswordTokenService {
             () -> new EntityNotFoundException(String.format("Token {%s} not found", token))
         );
     }
+
+    /**
+     * Marks the token used if it is still unused and unexpired. Returns false otherwise, so
+     * concurrent confirmations of one token cannot both succeed.
+     */
+    @Transactional
+    public boolean markUsed(String token) {
+        return passwordTokenRepository.markUsed(token, LocalDateTime.now()) == 1;
+    }
 }
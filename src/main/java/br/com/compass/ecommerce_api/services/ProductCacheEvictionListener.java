@@ -0,0 +1,35 @@
+package br.com.compass.ecommerce_api.services;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.compass.ecommerce_api.config.SpringCacheConfig;
+import br.com.compass.ecommerce_api.events.ProductChangedEvent;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Drops cached product responses once a change to them has committed. Any change can move
+ * a product between listing pages, so the page cache is cleared as a whole.
+ */
+@RequiredArgsConstructor
+@Component
+public class ProductCacheEvictionListener {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Cache products = cacheManager.getCache(SpringCacheConfig.PRODUCTS_CACHE);
+        Cache productPages = cacheManager.getCache(SpringCacheConfig.PRODUCT_PAGES_CACHE);
+
+        if (products != null) {
+            event.getProductIds().forEach(products::evict);
+        }
+
+        if (productPages != null) {
+            productPages.clear();
+        }
+    }
+}
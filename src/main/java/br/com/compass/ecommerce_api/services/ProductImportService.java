@@ -0,0 +1,266 @@
+package br.com.compass.ecommerce_api.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import br.com.compass.ecommerce_api.dtos.ProductImportDto;
+import br.com.compass.ecommerce_api.dtos.ProductImportErrorDto;
+import br.com.compass.ecommerce_api.dtos.ProductImportReportDto;
+import br.com.compass.ecommerce_api.entities.Product;
+import br.com.compass.ecommerce_api.entities.Stock;
+import br.com.compass.ecommerce_api.events.ProductChangedEvent;
+import br.com.compass.ecommerce_api.repositories.ProductRepository;
+import br.com.compass.ecommerce_api.repositories.StockRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports products, and optionally their initial stock, from an NDJSON or CSV body. Rows are
+ * parsed one at a time and persisted in batches, each batch in its own transaction and
+ * flushed as JDBC insert batches, so memory holds one batch no matter how large the body is.
+ *
+ * <p>Names already registered are rejected per row before inserting. If a batch still hits
+ * a unique violation, because of a concurrent insert, it is retried one row at a time so only
+ * the conflicting rows fail. The report keeps up to the configured number of row errors and
+ * counts the rest.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ProductImportService {
+
+    private static final ObjectReader CSV_READER = new CsvMapper()
+        .readerFor(Map.class)
+        .with(CsvSchema.emptySchema().withHeader());
+
+    private final ProductRepository productRepository;
+    private final StockRepository stockRepository;
+    private final EntityManager entityManager;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${ecommerce.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ecommerce.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public ProductImportReportDto importNdjson(InputStream body) throws IOException {
+        ImportRun run = new ImportRun();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                long row = run.nextRow();
+
+                try {
+                    run.accept(row, objectMapper.readValue(line, ProductImportDto.class));
+                } catch (JsonProcessingException ex) {
+                    run.reject(row, null, "Malformed row: " + ex.getOriginalMessage());
+                }
+            }
+        }
+
+        return run.finish();
+    }
+
+    public ProductImportReportDto importCsv(InputStream body) throws IOException {
+        ImportRun run = new ImportRun();
+
+        try (MappingIterator<Map<String, String>> rows = CSV_READER.readValues(body)) {
+            while (rows.hasNextValue()) {
+                Map<String, String> values = rows.nextValue();
+                long row = run.nextRow();
+
+                try {
+                    run.accept(row, objectMapper.convertValue(values, ProductImportDto.class));
+                } catch (IllegalArgumentException ex) {
+                    run.reject(row, values.get("name"), "Malformed row: " + ex.getMessage());
+                }
+            }
+        } catch (JsonProcessingException ex) {
+            run.reject(run.nextRow(), null, "Malformed CSV, import stopped: " + ex.getOriginalMessage());
+        }
+
+        return run.finish();
+    }
+
+    private BatchResult write(List<ImportRow> rows) {
+        List<String> names = rows.stream().map(row -> row.getProduct().getName()).toList();
+        Set<String> registered = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+            "SELECT name FROM products WHERE name IN (:names)", Map.of("names", names), String.class
+        ));
+
+        List<Product> imported = new ArrayList<>(rows.size());
+        List<Stock> stocks = new ArrayList<>();
+        List<ImportRow> rejected = new ArrayList<>();
+
+        for (ImportRow row : rows) {
+            if (registered.contains(row.getProduct().getName())) {
+                rejected.add(row);
+                continue;
+            }
+
+            Product product = new Product();
+            product.setName(row.getProduct().getName());
+            product.setDescription(row.getProduct().getDescription());
+            product.setAmount(row.getProduct().getAmount());
+            imported.add(product);
+
+            if (row.getProduct().getQuantity() != null) {
+                Stock stock = new Stock();
+                stock.setProduct(product);
+                stock.setQuantity(row.getProduct().getQuantity());
+                stocks.add(stock);
+            }
+        }
+
+        productRepository.saveAll(imported);
+        stockRepository.saveAll(stocks);
+        productRepository.flush();
+        entityManager.clear();
+
+        List<Long> ids = imported.stream().map(Product::getId).toList();
+        eventPublisher.publishEvent(new ProductChangedEvent(ids, ProductChangedEvent.Change.CREATED));
+        return new BatchResult(ids, rejected);
+    }
+
+    @AllArgsConstructor
+    @Getter
+    private static final class ImportRow {
+
+        private final long row;
+        private final ProductImportDto product;
+    }
+
+    @AllArgsConstructor
+    @Getter
+    private static final class BatchResult {
+
+        private final List<Long> imported;
+        private final List<ImportRow> rejected;
+    }
+
+    private final class ImportRun {
+
+        private final ProductImportReportDto report = new ProductImportReportDto();
+        private final List<ImportRow> batch = new ArrayList<>(batchSize);
+        private final Set<String> batchNames = new HashSet<>();
+        private long rows;
+
+        long nextRow() {
+            return ++rows;
+        }
+
+        void accept(long row, ProductImportDto product) {
+            Set<ConstraintViolation<ProductImportDto>> violations = validator.validate(product);
+
+            if (!violations.isEmpty()) {
+                reject(row, product.getName(), violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+                return;
+            }
+
+            if (!batchNames.add(product.getName())) {
+                reject(row, product.getName(), String.format("Product {%s} appears more than once in the import", product.getName()));
+                return;
+            }
+
+            batch.add(new ImportRow(row, product));
+
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, String name, String message) {
+            report.setFailed(report.getFailed() + 1);
+
+            if (report.getErrors().size() < maxReportedErrors) {
+                report.getErrors().add(new ProductImportErrorDto(row, name, message));
+            } else {
+                report.setErrorsTruncated(true);
+            }
+        }
+
+        ProductImportReportDto finish() {
+            flush();
+            report.setProcessed(rows);
+            log.info("Product import finished: {} imported, {} failed", report.getImported(), report.getFailed());
+            return report;
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            List<ImportRow> rows = new ArrayList<>(batch);
+            batch.clear();
+            batchNames.clear();
+            writeBatch(rows);
+        }
+
+        private void writeBatch(List<ImportRow> rows) {
+            BatchResult result;
+
+            try {
+                result = transactionTemplate.execute(status -> write(rows));
+            } catch (DataIntegrityViolationException ex) {
+                if (rows.size() > 1) {
+                    rows.forEach(row -> writeBatch(List.of(row)));
+                } else {
+                    reject(rows.get(0).getRow(), rows.get(0).getProduct().getName(),
+                        String.format("Product {%s} could not be registered", rows.get(0).getProduct().getName()));
+                }
+
+                return;
+            }
+
+            for (ImportRow row : result.getRejected()) {
+                reject(row.getRow(), row.getProduct().getName(),
+                    String.format("Product {%s} is already registered", row.getProduct().getName()));
+            }
+
+            report.setImported(report.getImported() + result.getImported().size());
+        }
+    }
+}
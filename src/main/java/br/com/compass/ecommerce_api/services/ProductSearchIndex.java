@@ -0,0 +1,408 @@
+package br.com.compass.ecommerce_api.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.compass.ecommerce_api.enums.ProductStatus;
+import br.com.compass.ecommerce_api.events.ProductChangedEvent;
+import br.com.compass.ecommerce_api.projections.ProductDocumentProjection;
+import br.com.compass.ecommerce_api.projections.ProductProjection;
+import br.com.compass.ecommerce_api.repositories.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Embedded Lucene index over product names and descriptions. Each query term matches exact
+ * words, word prefixes and, for longer terms, words within one or two typos; names weigh more
+ * than descriptions. Status and price filter the hits without affecting their score.
+ *
+ * <p>The index is rebuilt by streaming the products table at startup and on an interval, and
+ * updated after every committed {@link ProductChangedEvent}. Reads see changes as soon as they
+ * are applied; the files on disk are committed on an interval and at shutdown. Results are
+ * hydrated from the database, so the index only stores product ids.
+ *
+ * <p>A rebuild upserts every product in place, tagged with a new generation, and then deletes
+ * the documents it did not reach. The write lock is only held per document, so change events
+ * keep being applied during a rebuild and searches never see a partial index. A product that
+ * changes while the rebuild streams may be overwritten with the older row it read, so those
+ * products are indexed again once the stream is done.
+ *
+ * <p>Writers are serialized with a {@link ReentrantLock} rather than {@code synchronized}:
+ * change events query the database while holding it, and a virtual thread blocked on JDBC
+ * inside a monitor would pin its carrier thread.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String STATUS = "status";
+    private static final String AMOUNT_CENTS = "amountCents";
+    private static final String TIMES_PURCHASED = "timesPurchased";
+    private static final String GENERATION = "generation";
+
+    private static final BigDecimal MIN_CENTS = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal MAX_CENTS = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private static final Sort BY_TIMES_PURCHASED = new Sort(
+        new SortField(TIMES_PURCHASED, SortField.Type.LONG, true), SortField.FIELD_SCORE
+    );
+
+    private final ProductRepository productRepository;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final TransactionTemplate readOnlyTransaction;
+
+    private long generation;
+    private Set<Long> changedDuringRebuild;
+
+    public ProductSearchIndex(ProductRepository productRepository, PlatformTransactionManager transactionManager,
+            @Value("${ecommerce.search.index-path:}") String indexPath) throws IOException {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.directory = indexPath.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexPath));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${ecommerce.search.rebuild-interval:PT1H}",
+        fixedDelayString = "${ecommerce.search.rebuild-interval:PT1H}")
+    public void rebuild() {
+        rebuildLock.lock();
+
+        try {
+            Set<Long> changed = new HashSet<>();
+            long rebuilt = startRebuild(changed);
+            boolean complete = false;
+            long indexed = 0;
+
+            try {
+                indexed = readOnlyTransaction.execute(status -> indexAll(rebuilt));
+                complete = true;
+            } finally {
+                finishRebuild(rebuilt, complete);
+            }
+
+            if (!changed.isEmpty()) {
+                onProductChanged(new ProductChangedEvent(changed));
+            }
+
+            log.info("Product search index rebuilt with {} products", indexed);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Set<Long> removed = new HashSet<>(event.getProductIds());
+        writeLock.lock();
+
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.addAll(event.getProductIds());
+            }
+
+            for (ProductDocumentProjection product : productRepository.findDocumentsByIdIn(event.getProductIds())) {
+                writer.updateDocument(new Term(ID, product.getId().toString()), toDocument(product, generation));
+                removed.remove(product.getId());
+            }
+
+            for (Long productId : removed) {
+                writer.deleteDocuments(new Term(ID, productId.toString()));
+            }
+
+            searcherManager.maybeRefresh();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private long startRebuild(Set<Long> changed) {
+        writeLock.lock();
+
+        try {
+            changedDuringRebuild = changed;
+            return ++generation;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private long indexAll(long rebuilt) {
+        long indexed = 0;
+
+        try (Stream<ProductDocumentProjection> products = productRepository.streamDocuments()) {
+            for (ProductDocumentProjection product : (Iterable<ProductDocumentProjection>) products::iterator) {
+                writeLock.lock();
+
+                try {
+                    writer.updateDocument(new Term(ID, product.getId().toString()), toDocument(product, rebuilt));
+                } finally {
+                    writeLock.unlock();
+                }
+
+                indexed++;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return indexed;
+    }
+
+    private void finishRebuild(long rebuilt, boolean complete) {
+        writeLock.lock();
+
+        try {
+            changedDuringRebuild = null;
+
+            if (complete) {
+                writer.deleteDocuments(new BooleanQuery.Builder()
+                    .add(new MatchAllDocsQuery(), Occur.MUST)
+                    .add(LongPoint.newExactQuery(GENERATION, rebuilt), Occur.MUST_NOT)
+                    .build());
+                writer.commit();
+                searcherManager.maybeRefresh();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ecommerce.search.commit-interval:PT1M}")
+    public void commit() {
+        writeLock.lock();
+
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        writeLock.lock();
+
+        try {
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public Page<ProductProjection> search(String text, ProductStatus status, BigDecimal minAmount,
+            BigDecimal maxAmount, boolean byTimesPurchased, Pageable pageable) {
+        Query query = toQuery(text, status, minAmount, maxAmount);
+        int wanted = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+        List<Long> ids = new ArrayList<>();
+        int total;
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+
+            try {
+                TopDocs hits = byTimesPurchased
+                    ? searcher.search(query, Math.max(wanted, 1), BY_TIMES_PURCHASED, true)
+                    : searcher.search(query, Math.max(wanted, 1));
+                StoredFields storedFields = searcher.storedFields();
+                ScoreDoc[] scoreDocs = hits.scoreDocs;
+
+                for (long i = pageable.getOffset(); i < scoreDocs.length; i++) {
+                    ids.add(Long.valueOf(storedFields.document(scoreDocs[(int) i].doc).get(ID)));
+                }
+
+                total = searcher.count(query);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return new PageImpl<>(hydrate(ids), pageable, total);
+    }
+
+    private List<ProductProjection> hydrate(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, ProductProjection> products = new HashMap<>();
+
+        for (ProductProjection product : productRepository.findProjectionsByIdIn(ids)) {
+            products.put(product.getId(), product);
+        }
+
+        List<ProductProjection> content = new ArrayList<>(ids.size());
+
+        for (Long id : ids) {
+            ProductProjection product = products.get(id);
+
+            if (product != null) {
+                content.add(product);
+            }
+        }
+
+        return content;
+    }
+
+    private Query toQuery(String text, ProductStatus status, BigDecimal minAmount, BigDecimal maxAmount) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        List<String> terms = analyze(text);
+
+        if (terms.isEmpty()) {
+            query.add(new MatchAllDocsQuery(), Occur.MUST);
+        }
+
+        for (String term : terms) {
+            query.add(toTermQuery(term), Occur.MUST);
+        }
+
+        if (status != null) {
+            query.add(new TermQuery(new Term(STATUS, status.name())), Occur.FILTER);
+        }
+
+        if (minAmount != null || maxAmount != null) {
+            long min = minAmount == null ? Long.MIN_VALUE : toCents(minAmount, RoundingMode.CEILING);
+            long max = maxAmount == null ? Long.MAX_VALUE : toCents(maxAmount, RoundingMode.FLOOR);
+            query.add(LongPoint.newRangeQuery(AMOUNT_CENTS, min, max), Occur.FILTER);
+        }
+
+        return query.build();
+    }
+
+    private static Query toTermQuery(String term) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        int maxEdits = term.length() >= 8 ? 2 : term.length() >= 4 ? 1 : 0;
+
+        for (String field : List.of(NAME, DESCRIPTION)) {
+            float weight = NAME.equals(field) ? 2f : 1f;
+
+            query.add(new BoostQuery(new TermQuery(new Term(field, term)), 3f * weight), Occur.SHOULD);
+            query.add(new BoostQuery(new PrefixQuery(new Term(field, term)), 2f * weight), Occur.SHOULD);
+
+            if (maxEdits > 0) {
+                query.add(new BoostQuery(new FuzzyQuery(new Term(field, term), maxEdits, 1), weight), Occur.SHOULD);
+            }
+        }
+
+        return query.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+
+            stream.end();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return terms;
+    }
+
+    private static Document toDocument(ProductDocumentProjection product, long generation) {
+        Document document = new Document();
+        document.add(new StringField(ID, product.getId().toString(), Field.Store.YES));
+        document.add(new TextField(NAME, product.getName(), Field.Store.NO));
+        document.add(new TextField(DESCRIPTION, product.getDescription(), Field.Store.NO));
+        document.add(new StringField(STATUS, product.getStatus().name(), Field.Store.NO));
+        document.add(new LongPoint(AMOUNT_CENTS, toCents(product.getAmount(), RoundingMode.HALF_UP)));
+        document.add(new NumericDocValuesField(TIMES_PURCHASED, product.getTimesPurchased()));
+        document.add(new LongPoint(GENERATION, generation));
+        return document;
+    }
+
+    /**
+     * Clamped to the long range, so a price bound beyond any stored amount filters nothing
+     * out instead of overflowing.
+     */
+    private static long toCents(BigDecimal amount, RoundingMode roundingMode) {
+        return amount.movePointRight(2).setScale(0, roundingMode).max(MIN_CENTS).min(MAX_CENTS).longValueExact();
+    }
+}
@@ -1,32 +1,51 @@
 package br.com.compass.ecommerce_api.services;
 
 import java.math.BigDecimal;
+import java.util.List;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import br.com.compass.ecommerce_api.config.SpringCacheConfig;
+import br.com.compass.ecommerce_api.config.SpringMetricsConfig;
+import br.com.compass.ecommerce_api.dtos.ProductResponseDto;
+import br.com.compass.ecommerce_api.dtos.mappers.ProductMapper;
 import br.com.compass.ecommerce_api.entities.Product;
 import br.com.compass.ecommerce_api.enums.ProductStatus;
+import br.com.compass.ecommerce_api.events.ProductChangedEvent;
 import br.com.compass.ecommerce_api.exceptions.EntityNotFoundException;
 import br.com.compass.ecommerce_api.exceptions.ProductDeletionNotAllowedException;
+import br.com.compass.ecommerce_api.exceptions.ProductSearchInvalidException;
 import br.com.compass.ecommerce_api.exceptions.ProductUniqueViolationException;
 import br.com.compass.ecommerce_api.projections.ProductProjection;
 import br.com.compass.ecommerce_api.repositories.ProductRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
+@Timed(SpringMetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Service
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final BestSellersRanking bestSellersRanking;
+    private final ProductSearchIndex productSearchIndex;
+    private final TableStatisticsService tableStatisticsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Product save(Product product) {
         try {
-            return productRepository.save(product);
+            Product savedProduct = productRepository.saveAndFlush(product);
+            eventPublisher.publishEvent(new ProductChangedEvent(List.of(savedProduct.getId()), ProductChangedEvent.Change.CREATED));
+            return savedProduct;
         } catch (DataIntegrityViolationException ex) {
             throw new ProductUniqueViolationException(String.format("Product {%s} is already registered", product.getName()));
         }
@@ -39,50 +58,97 @@ public class ProductService {
         );
     }
 
+    @Cacheable(cacheNames = SpringCacheConfig.PRODUCTS_CACHE, key = "#id")
+    @Transactional(readOnly = true)
+    public ProductResponseDto findResponseById(Long id) {
+        return ProductMapper.toDto(findById(id));
+    }
+
     @Transactional
     public void deleteById(Long id) {
         Product product = findById(id);
 
-        if (product.getTimesPurchased() > 0) {
+        if (product.getTimesPurchased() > 0 || bestSellersRanking.hasPendingPurchases(id)) {
             throw new ProductDeletionNotAllowedException(
                 String.format("Cannot delete product {%d} as it has already been purchased", id)
             );
         }
 
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(id), ProductChangedEvent.Change.DELETED));
     }
 
     @Transactional
     public void deactivateById(Long id) {
         Product product = findById(id);
         product.setStatus(ProductStatus.INACTIVE);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(id)));
     }
 
     @Transactional
     public void updateName(Long id, String name) {
         Product product = findById(id);
         product.setName(name);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(id)));
     }
 
     @Transactional
     public void updateDescription(Long id, String description) {
         Product product = findById(id);
         product.setDescription(description);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(id)));
     }
 
     @Transactional
     public void updateAmount(Long id, BigDecimal amount) {
         Product product = findById(id);
         product.setAmount(amount);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(id)));
     }
 
     @Transactional(readOnly = true)
     public Page<ProductProjection> findBestSelling(Pageable pageable) {
-        return productRepository.findBestSelling(pageable);
+        return bestSellersRanking.findPage(pageable);
     }
 
+    @Cacheable(cacheNames = SpringCacheConfig.PRODUCT_PAGES_CACHE, key = "#pageable")
     @Transactional(readOnly = true)
     public Page<ProductProjection> findAll(Pageable pageable) {
         return productRepository.findAllPageable(pageable);
     }
+
+    @Transactional(readOnly = true)
+    public Slice<ProductProjection> findAllSliced(Pageable pageable) {
+        return productRepository.findAllSliced(pageable);
+    }
+
+    public long estimateCount() {
+        return tableStatisticsService.estimateRows(Product.class);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductProjection> findAllAfter(Long afterId, int limit) {
+        return productRepository.findAllAfter(afterId, Limit.of(limit + 1));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductProjection> search(String text, ProductStatus status, BigDecimal minAmount,
+            BigDecimal maxAmount, String sortBy, Pageable pageable) {
+        if (minAmount != null && maxAmount != null && minAmount.compareTo(maxAmount) > 0) {
+            throw new ProductSearchInvalidException("Invalid price range. minAmount must not exceed maxAmount");
+        }
+
+        return productSearchIndex.search(text, status, minAmount, maxAmount, isSortedByTimesPurchased(sortBy), pageable);
+    }
+
+    private boolean isSortedByTimesPurchased(String sortBy) {
+        switch (sortBy) {
+            case "relevance":
+                return false;
+            case "timesPurchased":
+                return true;
+            default:
+                throw new ProductSearchInvalidException("Invalid sortBy. Use 'relevance' or 'timesPurchased'");
+        }
+    }
 }
@@ -0,0 +1,126 @@
+package br.com.compass.ecommerce_api.services;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.compass.ecommerce_api.entities.PurchaseRollup;
+import br.com.compass.ecommerce_api.projections.PurchaseTotalsProjection;
+import br.com.compass.ecommerce_api.repositories.PurchaseRepository;
+import br.com.compass.ecommerce_api.repositories.PurchaseRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hourly purchase totals for the reports. Each completed hour is sealed once into a rollup
+ * row, so a report reads one row per hour up to the last sealed bucket and only scans raw
+ * purchases for the open tail after it.
+ *
+ * <p>An hour is sealed after the configured grace period has passed since it ended, which
+ * leaves room for purchases stamped inside the hour but committed just after it. The unique
+ * bucket start keeps concurrent instances from sealing the same hour twice.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class PurchaseRollupService {
+
+    private static final int MAX_BUCKETS_PER_RUN = 24 * 7;
+
+    private final PurchaseRollupRepository purchaseRollupRepository;
+    private final PurchaseRepository purchaseRepository;
+
+    @Value("${ecommerce.reports.rollup-grace:PT5M}")
+    private Duration rollupGrace;
+
+    @Scheduled(fixedDelayString = "${ecommerce.reports.rollup-interval:PT5M}")
+    @Transactional
+    public void sealCompletedHours() {
+        LocalDateTime bucketStart = nextBucketStart();
+
+        if (bucketStart == null) {
+            return;
+        }
+
+        LocalDateTime limit = LocalDateTime.now().minus(rollupGrace);
+        int sealed = 0;
+
+        while (!bucketStart.plusHours(1).isAfter(limit) && sealed < MAX_BUCKETS_PER_RUN) {
+            LocalDateTime bucketEnd = bucketStart.plusHours(1);
+            PurchaseTotalsProjection totals = purchaseRepository.getTotals(bucketStart, bucketEnd);
+
+            purchaseRollupRepository.save(new PurchaseRollup(
+                null, bucketStart, orZero(totals.getTotalAmount()), totals.getPurchaseCount()
+            ));
+
+            bucketStart = bucketEnd;
+            sealed++;
+        }
+
+        if (sealed > 0) {
+            log.info("Sealed {} hourly purchase rollups up to {}", sealed, bucketStart);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalAmount(LocalDateTime start, LocalDateTime end) {
+        LocalDateTime sealedUntil = sealedUntil(start, end);
+        BigDecimal totalAmount = BigDecimal.ZERO;
+
+        if (sealedUntil.isAfter(start)) {
+            totalAmount = orZero(purchaseRollupRepository.getTotals(start, sealedUntil).getTotalAmount());
+        }
+
+        return totalAmount.add(orZero(purchaseRepository.getTotalAmount(sealedUntil, end)));
+    }
+
+    @Transactional(readOnly = true)
+    public Integer getTotalPurchases(LocalDateTime start, LocalDateTime end) {
+        LocalDateTime sealedUntil = sealedUntil(start, end);
+        long totalPurchases = 0;
+
+        if (sealedUntil.isAfter(start)) {
+            Long sealedCount = purchaseRollupRepository.getTotals(start, sealedUntil).getPurchaseCount();
+            totalPurchases = sealedCount == null ? 0 : sealedCount;
+        }
+
+        Integer partialCount = purchaseRepository.getTotalPurchases(sealedUntil, end);
+        return Math.toIntExact(totalPurchases + (partialCount == null ? 0 : partialCount));
+    }
+
+    private LocalDateTime nextBucketStart() {
+        LocalDateTime lastBucketStart = purchaseRollupRepository.findLastBucketStart();
+
+        if (lastBucketStart != null) {
+            return lastBucketStart.plusHours(1);
+        }
+
+        LocalDateTime firstPurchaseDate = purchaseRepository.findFirstPurchaseDate();
+        return firstPurchaseDate == null ? null : firstPurchaseDate.truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private LocalDateTime sealedUntil(LocalDateTime start, LocalDateTime end) {
+        if (!start.equals(start.truncatedTo(ChronoUnit.HOURS))) {
+            return start;
+        }
+
+        LocalDateTime lastBucketStart = purchaseRollupRepository.findLastBucketStart();
+
+        if (lastBucketStart == null || !lastBucketStart.plusHours(1).isAfter(start)) {
+            return start;
+        }
+
+        LocalDateTime sealedUntil = lastBucketStart.plusHours(1);
+        return sealedUntil.isAfter(end) ? end : sealedUntil;
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+}
@@ -5,24 +5,27 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import br.com.compass.ecommerce_api.entities.CartItem;
-import br.com.compass.ecommerce_api.entities.Product;
+import br.com.compass.ecommerce_api.config.SpringMetricsConfig;
 import br.com.compass.ecommerce_api.entities.Purchase;
-import br.com.compass.ecommerce_api.entities.Stock;
-import br.com.compass.ecommerce_api.entities.User;
+import br.com.compass.ecommerce_api.events.PurchaseCompletedEvent;
 import br.com.compass.ecommerce_api.exceptions.CartEmptyException;
+import br.com.compass.ecommerce_api.exceptions.EntityNotFoundException;
+import br.com.compass.ecommerce_api.exceptions.InsufficientStockException;
 import br.com.compass.ecommerce_api.exceptions.PurchasePeriodInvalidException;
+import br.com.compass.ecommerce_api.projections.CheckoutItemProjection;
 import br.com.compass.ecommerce_api.projections.TopBuyerProjection;
 import br.com.compass.ecommerce_api.repositories.PurchaseRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
+@Timed(SpringMetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Service
 public class PurchaseService {
@@ -31,86 +34,79 @@ public class PurchaseService {
     private final UserService userService;
     private final CartItemService cartItemService;
     private final StockService stockService;
+    private final StockReservationLedger stockReservationLedger;
+    private final PurchaseRollupService purchaseRollupService;
+    private final TopBuyersLeaderboard topBuyersLeaderboard;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Transactional
+    @Transactional(readOnly = true)
     public BigDecimal getTotalAmount(String period) {
-        LocalDateTime start;
-        
-        switch (period) {
-            case "day":
-                start = LocalDate.now().atStartOfDay();
-                break;
-            case "week":
-                start = LocalDate.now().with(DayOfWeek.MONDAY).atStartOfDay();
-                break;
-            case "month":
-                start = LocalDate.now().withDayOfMonth(1).atStartOfDay();
-                break;
-            default:
-                throw new PurchasePeriodInvalidException("Invalid period. Use 'day', 'week', or 'month'");
-        }
-
-        return Optional
-            .ofNullable(purchaseRepository.getTotalAmount(start, LocalDateTime.now()))
-            .orElse(BigDecimal.ZERO);
+        return purchaseRollupService.getTotalAmount(getPeriodStart(period), LocalDateTime.now());
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public Integer getTotalPurchases(String period) {
-        LocalDateTime start;
-
-        switch (period) {
-            case "day":
-                start = LocalDate.now().atStartOfDay();
-                break;
-            case "week":
-                start = LocalDate.now().with(DayOfWeek.MONDAY).atStartOfDay();
-                break;
-            case "month":
-                start = LocalDate.now().withDayOfMonth(1).atStartOfDay();
-                break;
-            default:
-                throw new PurchasePeriodInvalidException("Invalid period. Use 'day', 'week', or 'month'");
-        }
-
-        return Optional
-            .ofNullable(purchaseRepository.getTotalPurchases(start, LocalDateTime.now()))
-            .orElse(0);
+        return purchaseRollupService.getTotalPurchases(getPeriodStart(period), LocalDateTime.now());
     }
 
     @Transactional
     public void performPurchase(Long id) {
-        List<CartItem> cart = cartItemService.findByUserId(id);
+        List<CheckoutItemProjection> cart = cartItemService.findCheckoutItems(id);
 
         if (cart.isEmpty()) {
             throw new CartEmptyException("Cart is currently empty");
         }
-        
-        for (CartItem item : cart) {
-            Product product = item.getProduct();
-            Stock stock = stockService.findByProductId(product.getId());
-            product.setTimesPurchased(product.getTimesPurchased() + item.getQuantity());
-            stockService.decrease(stock.getId(), item.getQuantity());
+
+        for (CheckoutItemProjection item : cart) {
+            if (item.getStockQuantity() == null) {
+                throw new EntityNotFoundException(
+                    String.format("Entry with productId {%d} not found in stock", item.getProductId())
+                );
+            }
+
+            if (item.getQuantity() > item.getStockQuantity()) {
+                throw new InsufficientStockException(
+                    String.format("Not enough stock for product {%s}", item.getProductName())
+                );
+            }
         }
 
+        stockReservationLedger.checkout(id, cart);
+        stockService.decreaseByCart(id, cart.size());
+
         BigDecimal totalAmount = cart.stream()
-            .map(item -> item.getProduct().getAmount().multiply(BigDecimal.valueOf(item.getQuantity())))
+            .map(item -> item.getAmount().multiply(BigDecimal.valueOf(item.getQuantity())))
             .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-
-        User user = userService.findById(id);
 
         Purchase purchase = new Purchase();
-        purchase.setUser(user);
+        purchase.setUser(userService.getReference(id));
         purchase.setTotalAmount(totalAmount);
 
         purchaseRepository.save(purchase);
 
         cartItemService.clearCart(id);
+
+        eventPublisher.publishEvent(new PurchaseCompletedEvent(id, cart));
     }
 
-    @Transactional(readOnly = true)
     public Page<TopBuyerProjection> findTopBuyers(Pageable pageable) {
-        return purchaseRepository.findTopBuyers(pageable);
+        return topBuyersLeaderboard.findPage(pageable);
+    }
+
+    public List<TopBuyerProjection> findTopBuyersAfter(Long purchaseCount, Long userId, int limit) {
+        return topBuyersLeaderboard.findAfter(purchaseCount, userId, limit + 1);
+    }
+
+    private LocalDateTime getPeriodStart(String period) {
+        switch (period) {
+            case "day":
+                return LocalDate.now().atStartOfDay();
+            case "week":
+                return LocalDate.now().with(DayOfWeek.MONDAY).atStartOfDay();
+            case "month":
+                return LocalDate.now().withDayOfMonth(1).atStartOfDay();
+            default:
+                throw new PurchasePeriodInvalidException("Invalid period. Use 'day', 'week', or 'month'");
+        }
     }
 }
@@ -0,0 +1,141 @@
+package br.com.compass.ecommerce_api.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.compass.ecommerce_api.config.SpringMetricsConfig;
+import br.com.compass.ecommerce_api.entities.RefreshToken;
+import br.com.compass.ecommerce_api.events.UserCredentialsChangedEvent;
+import br.com.compass.ecommerce_api.exceptions.RefreshTokenInvalidException;
+import br.com.compass.ecommerce_api.jwt.JwtToken;
+import br.com.compass.ecommerce_api.jwt.JwtUtils;
+import br.com.compass.ecommerce_api.repositories.RefreshTokenRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opaque refresh tokens, so renewing an access token costs a hash lookup instead of a
+ * BCrypt check. Only the SHA-256 of each token is stored. Tokens issued by this instance are
+ * also cached by hash, so a refresh usually skips the lookup query.
+ *
+ * <p>Every refresh rotates the token: the presented one is deleted and a new one is issued.
+ * The delete is the guard against reuse, because only one request can remove the row, so a
+ * stale cache entry or a replayed token is rejected. A credentials change deletes all of the
+ * user's refresh tokens.
+ */
+@Timed(SpringMetricsConfig.SERVICE_TIMER)
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserService userService;
+    private final Duration refreshTokenTtl;
+    private final Cache<String, RefreshSession> sessions;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserService userService,
+            @Value("${ecommerce.jwt.refresh-token-ttl:P14D}") Duration refreshTokenTtl,
+            @Value("${ecommerce.jwt.refresh-token-cache-size:10000}") long refreshTokenCacheSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userService = userService;
+        this.refreshTokenTtl = refreshTokenTtl;
+        this.sessions = Caffeine.newBuilder()
+            .maximumSize(refreshTokenCacheSize)
+            .expireAfterWrite(refreshTokenTtl)
+            .build();
+    }
+
+    @Transactional
+    public String issue(Long userId, String email) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        String hash = hash(token);
+
+        RefreshToken refreshToken = refreshTokenRepository.save(RefreshToken.builder()
+            .tokenHash(hash)
+            .user(userService.getReference(userId))
+            .expiryDate(LocalDateTime.now().plus(refreshTokenTtl))
+            .build());
+
+        sessions.put(hash, new RefreshSession(refreshToken.getId(), userId, email, refreshToken.getExpiryDate()));
+        return token;
+    }
+
+    @Transactional
+    public JwtToken refresh(String token) {
+        String hash = hash(token);
+        RefreshSession session = sessions.getIfPresent(hash);
+
+        if (session == null) {
+            session = refreshTokenRepository.findByTokenHash(hash)
+                .map(found -> new RefreshSession(found.getId(), found.getUserId(), found.getEmail(), found.getExpiryDate()))
+                .orElseThrow(() -> new RefreshTokenInvalidException("Invalid refresh token"));
+        }
+
+        sessions.invalidate(hash);
+
+        if (session.expiryDate().isBefore(LocalDateTime.now()) || refreshTokenRepository.deleteRotated(session.id()) == 0) {
+            throw new RefreshTokenInvalidException("Invalid refresh token");
+        }
+
+        JwtToken accessToken = JwtUtils.createToken(session.userId(), session.email(),
+            userService.findRoleByEmail(session.email()).name());
+        accessToken.setRefreshToken(issue(session.userId(), session.email()));
+        return accessToken;
+    }
+
+    @Transactional
+    public void revoke(String token) {
+        String hash = hash(token);
+        sessions.invalidate(hash);
+        refreshTokenRepository.deleteByTokenHash(hash);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        sessions.asMap().values().removeIf(session -> session.userId().equals(event.getUserId()));
+        refreshTokenRepository.deleteByUserId(event.getUserId());
+    }
+
+    @Scheduled(fixedDelayString = "${ecommerce.jwt.refresh-token-purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+
+        if (purged > 0) {
+            log.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private record RefreshSession(Long id, Long userId, String email, LocalDateTime expiryDate) {
+    }
+}
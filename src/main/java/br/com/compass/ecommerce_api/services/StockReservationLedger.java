@@ -0,0 +1,373 @@
+package br.com.compass.ecommerce_api.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.compass.ecommerce_api.exceptions.InsufficientStockException;
+import br.com.compass.ecommerce_api.projections.CheckoutItemProjection;
+import br.com.compass.ecommerce_api.projections.StockLevelProjection;
+import br.com.compass.ecommerce_api.repositories.StockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory admission control for stock. Units are reserved with a CAS on a per-product
+ * counter when they are added to a cart and consumed when the purchase commits, so hot
+ * products are rejected without queueing on the stock row lock. Reservations that are not
+ * purchased within the configured TTL are released back to the counter.
+ *
+ * <p>The stock table stays authoritative: checkout still runs the guarded decrement, and
+ * counters are re-synced from the table for products that saw activity, or on demand when
+ * a reservation is rejected, which also picks up admin changes made through StockService.
+ * That on-demand re-sync runs while the user's reservations are locked, so they are guarded
+ * by a {@link ReentrantLock} instead of a monitor to keep virtual threads from pinning.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class StockReservationLedger {
+
+    private static final int SYNC_BATCH_SIZE = 500;
+
+    private final StockRepository stockRepository;
+
+    private final Map<Long, ProductCounter> counters = new ConcurrentHashMap<>();
+    private final Map<Long, UserReservations> reservations = new ConcurrentHashMap<>();
+    private final Set<Long> touchedProducts = ConcurrentHashMap.newKeySet();
+
+    @Value("${ecommerce.stock.reservation-ttl:PT15M}")
+    private Duration reservationTtl;
+
+    @Value("${ecommerce.stock.resync-interval:PT1S}")
+    private Duration resyncInterval;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void hydrate() {
+        try (Stream<StockLevelProjection> levels = stockRepository.streamStockLevels()) {
+            levels.forEach(level -> counters.put(level.getProductId(), new ProductCounter(level.getQuantity())));
+        }
+
+        log.info("Stock reservation ledger hydrated with {} products", counters.size());
+    }
+
+    public void reserve(Long userId, Long productId, int quantity) {
+        while (true) {
+            UserReservations userReservations = reservations.computeIfAbsent(userId, id -> new UserReservations());
+
+            userReservations.lock.lock();
+
+            try {
+                if (userReservations.retired) {
+                    continue;
+                }
+
+                acquire(productId, quantity);
+                userReservations.add(productId, quantity, Instant.now().plus(reservationTtl));
+            } finally {
+                userReservations.lock.unlock();
+            }
+
+            afterRollback(() -> release(userId, productId, quantity));
+            return;
+        }
+    }
+
+    public void checkout(Long userId, List<CheckoutItemProjection> cart) {
+        while (true) {
+            UserReservations userReservations = reservations.computeIfAbsent(userId, id -> new UserReservations());
+
+            userReservations.lock.lock();
+
+            try {
+                if (userReservations.retired) {
+                    continue;
+                }
+
+                Instant expiresAt = Instant.now().plus(reservationTtl);
+
+                for (CheckoutItemProjection item : cart) {
+                    int missing = item.getQuantity() - userReservations.quantityOf(item.getProductId());
+
+                    if (missing > 0) {
+                        acquire(item.getProductId(), missing);
+                        userReservations.add(item.getProductId(), missing, expiresAt);
+                    }
+                }
+            } finally {
+                userReservations.lock.unlock();
+            }
+
+            afterCommit(() -> consume(userId, cart));
+            return;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ecommerce.stock.reservation-sweep-interval:PT30S}")
+    public void releaseExpired() {
+        Instant now = Instant.now();
+        int released = 0;
+
+        for (Map.Entry<Long, UserReservations> entry : reservations.entrySet()) {
+            UserReservations userReservations = entry.getValue();
+
+            userReservations.lock.lock();
+
+            try {
+                Iterator<Map.Entry<Long, Reservation>> iterator = userReservations.items.entrySet().iterator();
+
+                while (iterator.hasNext()) {
+                    Map.Entry<Long, Reservation> item = iterator.next();
+
+                    if (item.getValue().expiresAt.isBefore(now)) {
+                        counterFor(item.getKey()).release(item.getValue().quantity);
+                        touchedProducts.add(item.getKey());
+                        iterator.remove();
+                        released++;
+                    }
+                }
+
+                if (userReservations.items.isEmpty()) {
+                    userReservations.retired = true;
+                    reservations.remove(entry.getKey(), userReservations);
+                }
+            } finally {
+                userReservations.lock.unlock();
+            }
+        }
+
+        if (released > 0) {
+            log.info("Released {} expired stock reservations", released);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ecommerce.stock.reconcile-interval:PT1M}")
+    public void reconcile() {
+        List<Long> productIds = new ArrayList<>(touchedProducts);
+        touchedProducts.removeAll(productIds);
+
+        for (int i = 0; i < productIds.size(); i += SYNC_BATCH_SIZE) {
+            sync(productIds.subList(i, Math.min(i + SYNC_BATCH_SIZE, productIds.size())));
+        }
+    }
+
+    private void acquire(Long productId, int quantity) {
+        ProductCounter counter = counterFor(productId);
+
+        if (!counter.tryAcquire(quantity)) {
+            if (counter.isStale(resyncInterval)) {
+                sync(List.of(productId));
+                counter = counterFor(productId);
+            }
+
+            if (!counter.tryAcquire(quantity)) {
+                throw new InsufficientStockException(
+                    String.format("Not enough stock for product {%d}", productId)
+                );
+            }
+        }
+
+        touchedProducts.add(productId);
+    }
+
+    private void release(Long userId, Long productId, int quantity) {
+        UserReservations userReservations = reservations.get(userId);
+
+        if (userReservations == null) {
+            return;
+        }
+
+        userReservations.lock.lock();
+
+        try {
+            int removed = userReservations.subtract(productId, quantity);
+            counterFor(productId).release(removed);
+        } finally {
+            userReservations.lock.unlock();
+        }
+    }
+
+    private void consume(Long userId, List<CheckoutItemProjection> cart) {
+        UserReservations userReservations = reservations.get(userId);
+
+        for (CheckoutItemProjection item : cart) {
+            int reserved = 0;
+
+            if (userReservations != null) {
+                userReservations.lock.lock();
+
+                try {
+                    reserved = userReservations.subtract(item.getProductId(), Integer.MAX_VALUE);
+                } finally {
+                    userReservations.lock.unlock();
+                }
+            }
+
+            counterFor(item.getProductId()).consume(reserved, item.getQuantity());
+            touchedProducts.add(item.getProductId());
+        }
+    }
+
+    private ProductCounter counterFor(Long productId) {
+        ProductCounter counter = counters.get(productId);
+
+        if (counter == null) {
+            sync(List.of(productId));
+            counter = counters.computeIfAbsent(productId, id -> new ProductCounter(0));
+        }
+
+        return counter;
+    }
+
+    private void sync(List<Long> productIds) {
+        Map<Long, Integer> levels = new HashMap<>();
+
+        for (StockLevelProjection level : stockRepository.findStockLevels(productIds)) {
+            levels.put(level.getProductId(), level.getQuantity());
+        }
+
+        for (Long productId : productIds) {
+            Integer quantity = levels.get(productId);
+
+            if (quantity == null) {
+                counters.remove(productId);
+            } else {
+                counters.computeIfAbsent(productId, id -> new ProductCounter(0)).sync(quantity);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private static final class ProductCounter {
+
+        private final AtomicLong available;
+        private final AtomicLong reserved = new AtomicLong();
+        private volatile long syncedAt = System.nanoTime();
+
+        private ProductCounter(long available) {
+            this.available = new AtomicLong(available);
+        }
+
+        private boolean tryAcquire(int quantity) {
+            long current = available.get();
+
+            while (current >= quantity) {
+                if (available.compareAndSet(current, current - quantity)) {
+                    reserved.addAndGet(quantity);
+                    return true;
+                }
+
+                current = available.get();
+            }
+
+            return false;
+        }
+
+        private void release(int quantity) {
+            reserved.addAndGet(-quantity);
+            available.addAndGet(quantity);
+        }
+
+        private void consume(int reservedQuantity, int purchasedQuantity) {
+            reserved.addAndGet(-reservedQuantity);
+            available.addAndGet(reservedQuantity - purchasedQuantity);
+        }
+
+        private void sync(long stockQuantity) {
+            available.set(stockQuantity - reserved.get());
+            syncedAt = System.nanoTime();
+        }
+
+        private boolean isStale(Duration interval) {
+            return System.nanoTime() - syncedAt >= interval.toNanos();
+        }
+    }
+
+    private static final class UserReservations {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, Reservation> items = new HashMap<>();
+        private boolean retired;
+
+        private int quantityOf(Long productId) {
+            Reservation reservation = items.get(productId);
+            return reservation == null ? 0 : reservation.quantity;
+        }
+
+        private void add(Long productId, int quantity, Instant expiresAt) {
+            Reservation reservation = items.computeIfAbsent(productId, id -> new Reservation());
+            reservation.quantity += quantity;
+            reservation.expiresAt = expiresAt;
+        }
+
+        private int subtract(Long productId, int quantity) {
+            Reservation reservation = items.get(productId);
+
+            if (reservation == null) {
+                return 0;
+            }
+
+            int removed = Math.min(quantity, reservation.quantity);
+            reservation.quantity -= removed;
+
+            if (reservation.quantity == 0) {
+                items.remove(productId);
+            }
+
+            return removed;
+        }
+    }
+
+    private static final class Reservation {
+
+        private int quantity;
+        private Instant expiresAt;
+    }
+}
@@ -1,33 +1,42 @@
 package br.com.compass.ecommerce_api.services;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import br.com.compass.ecommerce_api.config.SpringMetricsConfig;
 import br.com.compass.ecommerce_api.entities.Product;
 import br.com.compass.ecommerce_api.entities.Stock;
+import br.com.compass.ecommerce_api.exceptions.EntityNotFoundException;
 import br.com.compass.ecommerce_api.exceptions.InsufficientStockException;
 import br.com.compass.ecommerce_api.exceptions.ProductUniqueViolationException;
 import br.com.compass.ecommerce_api.projections.StockProjection;
 import br.com.compass.ecommerce_api.repositories.StockRepository;
-import jakarta.persistence.EntityNotFoundException;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
+@Timed(SpringMetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Service
 public class StockService {
 
     private final StockRepository stockRepository;
     private final ProductService productService;
+    private final TableStatisticsService tableStatisticsService;
 
     @Transactional
     public Stock save(Long id, Stock stock) {
         try {
             Product product = productService.findById(id);
             stock.setProduct(product);
-            return stockRepository.save(stock);
+            return stockRepository.saveAndFlush(stock);
         } catch (DataIntegrityViolationException ex) {
             throw new ProductUniqueViolationException(
                 String.format("Product of id {%d} already registered", id)
@@ -57,13 +66,20 @@ public class StockService {
 
     @Transactional
     public void decrease(Long id, Integer quantity) {
-        Stock stock = findById(id);
+        if (stockRepository.decreaseIfAvailable(id, quantity, LocalDateTime.now()) == 0) {
+            if (!stockRepository.existsById(id)) {
+                throw new EntityNotFoundException(String.format("Entry {%d} not found in stock", id));
+            }
 
-        if (quantity > stock.getQuantity()) {
             throw new InsufficientStockException("Not enough stock to decrease");
         }
+    }
 
-        stock.setQuantity(stock.getQuantity() - quantity);
+    @Transactional
+    public void decreaseByCart(Long userId, int cartSize) {
+        if (stockRepository.decreaseByCartIfAvailable(userId, LocalDateTime.now()) < cartSize) {
+            throw new InsufficientStockException("Not enough stock to complete the purchase");
+        }
     }
 
     @Transactional(readOnly = true)
@@ -71,8 +87,27 @@ public class StockService {
         return stockRepository.findLowStock(pageable);
     }
 
+    @Transactional(readOnly = true)
+    public Slice<StockProjection> findLowStockSliced(Pageable pageable) {
+        return stockRepository.findLowStockSliced(pageable);
+    }
+
     @Transactional(readOnly = true)
     public Page<StockProjection> findAll(Pageable pageable) {
         return stockRepository.findAllPageable(pageable);
     }
+
+    @Transactional(readOnly = true)
+    public Slice<StockProjection> findAllSliced(Pageable pageable) {
+        return stockRepository.findAllSliced(pageable);
+    }
+
+    public long estimateCount() {
+        return tableStatisticsService.estimateRows(Stock.class);
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockProjection> findAllAfter(Long afterId, int limit) {
+        return stockRepository.findAllAfter(afterId, Limit.of(limit + 1));
+    }
 }
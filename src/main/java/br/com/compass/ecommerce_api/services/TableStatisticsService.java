@@ -0,0 +1,84 @@
+package br.com.compass.ecommerce_api.services;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import jakarta.persistence.Table;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Row estimates for {@code count=approximate} listings. Estimates are read from the
+ * database's own table statistics, which MySQL and H2 keep without scanning the table, and
+ * cached so a listing costs no extra round trip. Databases without a known statistics view
+ * fall back to an exact count, cached the same way.
+ */
+@Slf4j
+@Service
+public class TableStatisticsService {
+
+    private static final String MYSQL_ESTIMATE_SQL = """
+        SELECT TABLE_ROWS FROM information_schema.TABLES
+        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?
+        """;
+
+    private static final String H2_ESTIMATE_SQL = """
+        SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES
+        WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND UPPER(TABLE_NAME) = UPPER(?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadingCache<String, Long> estimates;
+    private volatile String estimateSql;
+
+    public TableStatisticsService(JdbcTemplate jdbcTemplate,
+            @Value("${ecommerce.pagination.row-estimate-refresh:PT5M}") Duration refresh) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.estimates = Caffeine.newBuilder()
+            .refreshAfterWrite(refresh)
+            .build(this::readEstimate);
+    }
+
+    public long estimateRows(Class<?> entity) {
+        return estimates.get(entity.getAnnotation(Table.class).name());
+    }
+
+    private Long readEstimate(String table) {
+        String sql = estimateSql();
+
+        if (!sql.isEmpty()) {
+            Long estimate = jdbcTemplate.query(sql, rs -> rs.next() ? rs.getObject(1, Long.class) : null, table);
+
+            if (estimate != null) {
+                return estimate;
+            }
+        }
+
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private String estimateSql() {
+        if (estimateSql == null) {
+            String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()
+            );
+
+            if ("MySQL".equalsIgnoreCase(product)) {
+                estimateSql = MYSQL_ESTIMATE_SQL;
+            } else if ("H2".equalsIgnoreCase(product)) {
+                estimateSql = H2_ESTIMATE_SQL;
+            } else {
+                log.info("No table statistics view known for {}, approximate counts will be exact", product);
+                estimateSql = "";
+            }
+        }
+
+        return estimateSql;
+    }
+}
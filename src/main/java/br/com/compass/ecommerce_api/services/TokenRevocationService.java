@@ -0,0 +1,187 @@
+package br.com.compass.ecommerce_api.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.compass.ecommerce_api.entities.RevokedToken;
+import br.com.compass.ecommerce_api.repositories.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Revoked access tokens, by their {@code jti} claim. The list lives in the revoked_tokens
+ * table, so every instance sees it, and in front of it sits a Bloom filter of the unexpired
+ * ids. A token the filter has never seen is not revoked, which settles almost every request
+ * without a query. Only a possible match is looked up, and the answer is cached.
+ *
+ * <p>The filter is rebuilt from the table periodically, which is how revocations made on
+ * other instances arrive. Revocations made here are added to the filter at once, and kept
+ * long enough to be carried into the next rebuilds in case the table read missed them.
+ * Until the first rebuild, every token is looked up.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedTokens;
+    private final Cache<String, Boolean> lookups;
+    private final Cache<String, Boolean> recentlyRevoked;
+    private final Counter revokedHits;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter filter;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository, MeterRegistry meterRegistry,
+            @Value("${ecommerce.jwt.revocation-expected-tokens:100000}") int expectedTokens,
+            @Value("${ecommerce.jwt.revocation-lookup-cache-size:10000}") long lookupCacheSize,
+            @Value("${ecommerce.jwt.revocation-rebuild-interval:PT30S}") Duration rebuildInterval) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedTokens = expectedTokens;
+        this.lookups = Caffeine.newBuilder().maximumSize(lookupCacheSize).build();
+        this.recentlyRevoked = Caffeine.newBuilder().expireAfterWrite(rebuildInterval.multipliedBy(3)).build();
+        this.revokedHits = Counter.builder("ecommerce.jwt.revocation.lookups").tag("result", "revoked").register(meterRegistry);
+        this.falsePositives = Counter.builder("ecommerce.jwt.revocation.lookups").tag("result", "false_positive").register(meterRegistry);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+
+        BloomFilter current = filter;
+
+        if (current != null && !current.mightContain(jti)) {
+            return false;
+        }
+
+        boolean revoked = lookups.get(jti, revokedTokenRepository::existsByJti);
+        (revoked ? revokedHits : falsePositives).increment();
+        return revoked;
+    }
+
+    /**
+     * Not transactional, so a duplicate jti surfaces from the insert here. Two logouts with the
+     * same token race on the unique jti, and the loser finds it already revoked.
+     */
+    public void revoke(String jti, Date expiration) {
+        try {
+            revokedTokenRepository.saveAndFlush(RevokedToken.builder()
+                .jti(jti)
+                .expiryDate(LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault()))
+                .build());
+        } catch (DataIntegrityViolationException ex) {
+            log.debug("Token {} was already revoked", jti);
+        }
+
+        recentlyRevoked.put(jti, Boolean.TRUE);
+        lookups.put(jti, Boolean.TRUE);
+
+        BloomFilter current = filter;
+
+        if (current != null) {
+            current.put(jti);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${ecommerce.jwt.revocation-rebuild-interval:PT30S}",
+        fixedDelayString = "${ecommerce.jwt.revocation-rebuild-interval:PT30S}")
+    @Transactional
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedTokens, 2 * (int) revokedTokenRepository.count()));
+
+        try (Stream<String> jtis = revokedTokenRepository.streamActiveJtis(now)) {
+            jtis.forEach(rebuilt::put);
+        }
+
+        recentlyRevoked.asMap().keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+
+        // A revocation made since the copy above may have gone into the old filter. Any made
+        // after this second copy reads the new one.
+        recentlyRevoked.asMap().keySet().forEach(rebuilt::put);
+        lookups.asMap().values().removeIf(revoked -> !revoked);
+
+        if (purged > 0) {
+            log.info("Purged {} expired revoked tokens", purged);
+        }
+    }
+
+    /**
+     * Fixed-size Bloom filter over a shared bit array. Positions come from double hashing a
+     * 64-bit FNV-1a hash, and bits are only ever set, so reads need no lock.
+     */
+    private static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(int expectedInsertions) {
+            long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) ((optimalBits + 63) / 64));
+            this.bitCount = bits.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round(optimalBits / (double) expectedInsertions * Math.log(2)));
+        }
+
+        void put(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+                bits.accumulateAndGet((int) (bit >>> 6), 1L << bit, (word, mask) -> word | mask);
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+
+            return hash;
+        }
+    }
+}
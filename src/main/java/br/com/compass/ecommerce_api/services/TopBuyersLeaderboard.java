@@ -0,0 +1,148 @@
+package br.com.compass.ecommerce_api.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.compass.ecommerce_api.events.PurchaseCompletedEvent;
+import br.com.compass.ecommerce_api.projections.TopBuyerProjection;
+import br.com.compass.ecommerce_api.repositories.PurchaseRepository;
+import br.com.compass.ecommerce_api.repositories.UserRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory ranking of buyers by purchase count, ordered in a skip list so top-buyer pages
+ * are read without touching the database. Built from the purchases table at startup,
+ * incremented after each committed purchase and rebuilt periodically to pick up purchases
+ * made through other instances.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class TopBuyersLeaderboard {
+
+    private static final Comparator<Buyer> RANKING = Comparator
+        .comparingLong(Buyer::getPurchaseCount).reversed()
+        .thenComparing(Buyer::getUserId);
+
+    private final PurchaseRepository purchaseRepository;
+    private final UserRepository userRepository;
+
+    private volatile Board board = new Board();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${ecommerce.leaderboard.rebuild-interval:PT10M}",
+        fixedDelayString = "${ecommerce.leaderboard.rebuild-interval:PT10M}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Board rebuilt = new Board();
+
+        try (Stream<TopBuyerProjection> buyers = purchaseRepository.streamBuyerCounts()) {
+            buyers.forEach(buyer -> rebuilt.put(
+                new Buyer(buyer.getUserId(), buyer.getUserName(), buyer.getPurchaseCount())
+            ));
+        }
+
+        board = rebuilt;
+        log.info("Top buyers leaderboard rebuilt with {} buyers", rebuilt.buyers.size());
+    }
+
+    @TransactionalEventListener
+    public void onPurchaseCompleted(PurchaseCompletedEvent event) {
+        Board current = board;
+
+        // Looked up outside compute, which holds the map bin lock. A board never drops a
+        // buyer, so one present here is still present inside compute.
+        String userName = current.buyers.containsKey(event.getUserId())
+            ? null
+            : userRepository.findNameById(event.getUserId());
+
+        current.buyers.compute(event.getUserId(), (userId, buyer) -> {
+            Buyer updated = buyer == null
+                ? new Buyer(userId, userName, 1L)
+                : new Buyer(userId, buyer.getUserName(), buyer.getPurchaseCount() + 1);
+
+            current.ranking.add(updated);
+
+            if (buyer != null) {
+                current.ranking.remove(buyer);
+            }
+
+            return updated;
+        });
+    }
+
+    public Page<TopBuyerProjection> findPage(Pageable pageable) {
+        Board current = board;
+        List<TopBuyerProjection> content = new ArrayList<>(pageable.getPageSize());
+        Iterator<Buyer> iterator = current.ranking.iterator();
+
+        for (long skipped = 0; skipped < pageable.getOffset() && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+
+        while (content.size() < pageable.getPageSize() && iterator.hasNext()) {
+            content.add(iterator.next());
+        }
+
+        return new PageImpl<>(content, pageable, current.buyers.size());
+    }
+
+    public List<TopBuyerProjection> findAfter(Long purchaseCount, Long userId, int limit) {
+        NavigableSet<Buyer> ranking = board.ranking;
+        Iterable<Buyer> buyers = purchaseCount == null
+            ? ranking
+            : ranking.tailSet(new Buyer(userId, null, purchaseCount), false);
+
+        List<TopBuyerProjection> content = new ArrayList<>(limit);
+
+        for (Buyer buyer : buyers) {
+            if (content.size() == limit) {
+                break;
+            }
+
+            content.add(buyer);
+        }
+
+        return content;
+    }
+
+    private static final class Board {
+
+        private final Map<Long, Buyer> buyers = new ConcurrentHashMap<>();
+        private final NavigableSet<Buyer> ranking = new ConcurrentSkipListSet<>(RANKING);
+
+        private void put(Buyer buyer) {
+            buyers.put(buyer.getUserId(), buyer);
+            ranking.add(buyer);
+        }
+    }
+
+    @AllArgsConstructor
+    @Getter
+    private static final class Buyer implements TopBuyerProjection {
+
+        private final Long userId;
+        private final String userName;
+        private final Long purchaseCount;
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.compass.ecommerce_api.services;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.compass.ecommerce_api.config.SpringCacheConfig;
+import br.com.compass.ecommerce_api.events.UserCredentialsChangedEvent;
+
+/**
+ * Drops cached principals and roles once a change to the user has committed, so a
+ * concurrent request cannot re-cache the old state before the new one is visible.
+ */
+@Component
+public class UserCacheEvictionListener {
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Caching(evict = {
+        @CacheEvict(cacheNames = SpringCacheConfig.USER_DETAILS_CACHE, key = "#event.email"),
+        @CacheEvict(cacheNames = SpringCacheConfig.USER_ROLES_CACHE, key = "#event.email")
+    })
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+    }
+}
@@ -1,26 +1,37 @@
 package br.com.compass.ecommerce_api.services;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import br.com.compass.ecommerce_api.config.SpringCacheConfig;
+import br.com.compass.ecommerce_api.config.SpringMetricsConfig;
 import br.com.compass.ecommerce_api.entities.PasswordResetToken;
 import br.com.compass.ecommerce_api.entities.User;
 import br.com.compass.ecommerce_api.enums.UserRole;
+import br.com.compass.ecommerce_api.events.UserCredentialsChangedEvent;
 import br.com.compass.ecommerce_api.exceptions.EmailUniqueViolationException;
 import br.com.compass.ecommerce_api.exceptions.EntityNotFoundException;
 import br.com.compass.ecommerce_api.exceptions.PasswordInvalidException;
 import br.com.compass.ecommerce_api.exceptions.ResetTokenInvalidException;
 import br.com.compass.ecommerce_api.projections.UserProjection;
 import br.com.compass.ecommerce_api.repositories.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
+@Timed(SpringMetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Service
 public class UserService {
@@ -29,12 +40,22 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
     private final PasswordTokenService tokenService;
-
-    @Transactional
+    private final ApplicationEventPublisher eventPublisher;
+    private final TableStatisticsService tableStatisticsService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Not transactional, so no connection is held while the password waits for the hashing
+     * pool. The insert runs in the repository's own transaction.
+     */
     public User save(User user) {
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
+
         try {
-            user.setPassword(passwordEncoder.encode(user.getPassword()));
-            return userRepository.save(user);
+            User savedUser = userRepository.saveAndFlush(user);
+
+            eventPublisher.publishEvent(new UserCredentialsChangedEvent(savedUser.getId(), savedUser.getEmail()));
+            return savedUser;
         } catch (DataIntegrityViolationException ex) {
             throw new EmailUniqueViolationException(String.format("Email {%s} is already registered", user.getEmail()));
         }
@@ -47,6 +68,10 @@ public class UserService {
         );
     }
 
+    public User getReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
     @Transactional
     public void initiatePasswordReset(String email) {
         User user = userRepository.findByEmail(email).orElseThrow(
@@ -63,10 +88,14 @@ public class UserService {
         tokenService.save(resetToken);
         
         String resetLink = String.format("localhost:8080/password-reset/confirm?token=%s", token);
-        emailService.sendEmail(email, resetLink);
+        emailService.queuePasswordResetEmail(email, resetLink);
     }
 
-    @Transactional
+    /**
+     * Not transactional, so neither a connection nor the token row is held while the new
+     * password waits for the hashing pool. The token is checked before hashing, then claimed
+     * together with the password update in one short transaction.
+     */
     public void resetPassword(String token, String newPassword, String confirmedPassword) {
         if (!newPassword.equals(confirmedPassword)) {
             throw new PasswordInvalidException("New password must be equal to the confirmed password");
@@ -78,9 +107,24 @@ public class UserService {
         }
 
         User user = resetToken.getUser();
-        user.setPassword(passwordEncoder.encode(newPassword));
+        String encodedPassword = passwordEncoder.encode(newPassword);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!tokenService.markUsed(token)) {
+                throw new ResetTokenInvalidException("Token expired or already used");
+            }
 
-        resetToken.setUsed(true);
+            userRepository.updatePasswordByEmail(user.getEmail(), encodedPassword);
+            eventPublisher.publishEvent(new UserCredentialsChangedEvent(user.getId(), user.getEmail()));
+        });
+    }
+
+    /**
+     * Stores a new hash of the same password, so existing tokens stay valid.
+     */
+    @Transactional
+    public void upgradePasswordHash(String email, String encodedPassword) {
+        userRepository.updatePasswordByEmail(email, encodedPassword);
     }
 
     @Transactional(readOnly = true)
@@ -88,6 +132,20 @@ public class UserService {
         return userRepository.findAllPageable(pageable);
     }
 
+    @Transactional(readOnly = true)
+    public Slice<UserProjection> findAllSliced(Pageable pageable) {
+        return userRepository.findAllSliced(pageable);
+    }
+
+    public long estimateCount() {
+        return tableStatisticsService.estimateRows(User.class);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserProjection> findAllAfter(Long afterId, int limit) {
+        return userRepository.findAllAfter(afterId, Limit.of(limit + 1));
+    }
+
     @Transactional(readOnly = true)
     public User findByEmail(String email) {
         return userRepository.findByEmail(email).orElseThrow(
@@ -95,6 +153,7 @@ public class UserService {
         );
     }
 
+    @Cacheable(cacheNames = SpringCacheConfig.USER_ROLES_CACHE)
     @Transactional(readOnly = true)
     public UserRole findRoleByEmail(String email) {
         return userRepository.findRoleByEmail(email);
@@ -1,16 +1,29 @@
 package br.com.compass.ecommerce_api;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import br.com.compass.ecommerce_api.dtos.RefreshTokenDto;
 import br.com.compass.ecommerce_api.dtos.UserLoginDto;
+import br.com.compass.ecommerce_api.dtos.UserResponseDto;
 import br.com.compass.ecommerce_api.exceptions.ErrorMessage;
 import br.com.compass.ecommerce_api.jwt.JwtToken;
+import br.com.compass.ecommerce_api.jwt.JwtUtils;
+import br.com.compass.ecommerce_api.services.LoginThrottleService;
+import br.com.compass.ecommerce_api.services.TokenRevocationService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Sql(scripts = "/sql/users/users-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
@@ -21,6 +34,15 @@ public class AuthenticationTest {
     @Autowired
     WebTestClient webTestClient;
 
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    LoginThrottleService loginThrottleService;
+
+    @Autowired
+    TokenRevocationService tokenRevocationService;
+
     @Test
     public void authenticate_ValidCredentials_ReturnTokenStatus200() {
         JwtToken responseBody = webTestClient
@@ -136,4 +158,181 @@ public class AuthenticationTest {
         Assertions.assertThat(responseBody.getStatus()).isEqualTo(422);
 
     }
+
+    @Test
+    public void authenticate_TokenWithoutIdClaim_ResolvesPrincipalStatus200() {
+        Date issuedAt = new Date();
+        String token = Jwts.builder()
+            .subject("joey@gmail.com")
+            .issuedAt(issuedAt)
+            .expiration(new Date(issuedAt.getTime() + 60_000))
+            .signWith(Keys.hmacShaKeyFor(JwtUtils.SECRET_KEY.getBytes(StandardCharsets.UTF_8)))
+            .claim(JwtUtils.JWT_ROLE_CLAIM, "CLIENT")
+            .compact();
+
+        UserResponseDto responseBody = webTestClient
+            .get()
+            .uri("/api/v1/users/2")
+            .headers(headers -> headers.add(HttpHeaders.AUTHORIZATION, JwtUtils.JWT_BEARER + token))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(UserResponseDto.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getEmail()).isEqualTo("joey@gmail.com");
+    }
+
+    @Test
+    public void authenticate_RepeatedBadCredentials_ReturnErrorMessageStatus429() {
+        try {
+            for (int attempt = 0; attempt < 5; attempt++) {
+                webTestClient
+                    .post()
+                    .uri("/api/v1/auth")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new UserLoginDto("kaiba@gmail.com", "000000"))
+                    .exchange()
+                    .expectStatus().isBadRequest();
+            }
+
+            ErrorMessage responseBody = webTestClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserLoginDto("kaiba@gmail.com", "123456"))
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().exists(HttpHeaders.RETRY_AFTER)
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+            Assertions.assertThat(responseBody).isNotNull();
+            Assertions.assertThat(responseBody.getStatus()).isEqualTo(429);
+        } finally {
+            loginThrottleService.recordSuccess("kaiba@gmail.com");
+        }
+    }
+
+    @Test
+    public void authenticate_HashWithOtherStrength_RehashPasswordStatus200() {
+        webTestClient
+            .post()
+            .uri("/api/v1/auth")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new UserLoginDto("yugi@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk();
+
+        String password = jdbcTemplate.queryForObject("SELECT password FROM users WHERE email = 'yugi@gmail.com'", String.class);
+        Assertions.assertThat(password).startsWith("$2a$04$");
+
+        webTestClient
+            .post()
+            .uri("/api/v1/auth")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new UserLoginDto("yugi@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk();
+    }
+
+    @Test
+    public void refresh_ValidRefreshToken_ReturnRotatedTokenStatus200() {
+        JwtToken login = webTestClient
+            .post()
+            .uri("/api/v1/auth")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new UserLoginDto("yugi@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(JwtToken.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(login.getRefreshToken()).isNotBlank();
+
+        JwtToken refreshed = webTestClient
+            .post()
+            .uri("/api/v1/auth/refresh")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new RefreshTokenDto(login.getRefreshToken()))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(JwtToken.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(refreshed.getToken()).isNotBlank();
+        Assertions.assertThat(refreshed.getRefreshToken()).isNotBlank().isNotEqualTo(login.getRefreshToken());
+
+        webTestClient
+            .get()
+            .uri("/api/v1/users/1")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + refreshed.getToken())
+            .exchange()
+            .expectStatus().isOk();
+
+        ErrorMessage responseBody = webTestClient
+            .post()
+            .uri("/api/v1/auth/refresh")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new RefreshTokenDto(login.getRefreshToken()))
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody(ErrorMessage.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getStatus()).isEqualTo(400);
+    }
+
+    @Test
+    public void logout_ValidToken_RevokeTokensStatus204() {
+        JwtToken login = webTestClient
+            .post()
+            .uri("/api/v1/auth")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new UserLoginDto("yugi@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(JwtToken.class)
+            .returnResult().getResponseBody();
+
+        webTestClient
+            .post()
+            .uri("/api/v1/auth/logout")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + login.getToken())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new RefreshTokenDto(login.getRefreshToken()))
+            .exchange()
+            .expectStatus().isNoContent();
+
+        webTestClient
+            .get()
+            .uri("/api/v1/users/1")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + login.getToken())
+            .exchange()
+            .expectStatus().isUnauthorized();
+
+        webTestClient
+            .post()
+            .uri("/api/v1/auth/refresh")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new RefreshTokenDto(login.getRefreshToken()))
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void revoke_SameJtiTwice_KeepTokenRevokedOnce() {
+        String jti = UUID.randomUUID().toString();
+        Date expiration = new Date(System.currentTimeMillis() + 1_800_000);
+
+        tokenRevocationService.revoke(jti, expiration);
+        tokenRevocationService.revoke(jti, expiration);
+        tokenRevocationService.rebuild();
+
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM revoked_tokens WHERE jti = ?", Integer.class, jti);
+
+        Assertions.assertThat(rows).isEqualTo(1);
+        Assertions.assertThat(tokenRevocationService.isRevoked(jti)).isTrue();
+    }
 }
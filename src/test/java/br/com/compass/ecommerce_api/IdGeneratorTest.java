@@ -0,0 +1,101 @@
+package br.com.compass.ecommerce_api;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.compass.ecommerce_api.config.ReservedPooledLoOptimizer;
+import br.com.compass.ecommerce_api.entities.RevokedToken;
+import br.com.compass.ecommerce_api.repositories.RevokedTokenRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = {
+    "spring.datasource.hikari.maximum-pool-size=3",
+    "spring.datasource.hikari.connection-timeout=5000"
+})
+public class IdGeneratorTest {
+
+    private static final int THREADS = 12;
+    private static final int INSERTS_PER_THREAD = 25;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void deleteRevokedTokens() {
+        jdbcTemplate.update("DELETE FROM revoked_tokens");
+    }
+
+    @Test
+    public void generator_EveryEntity_UseReservedPooledLoOptimizer() {
+        List<String> entities = new ArrayList<>();
+
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel().forEachEntityDescriptor(descriptor -> {
+            entities.add(descriptor.getEntityName());
+            Assertions.assertThat(descriptor.getGenerator()).isInstanceOf(TableGenerator.class);
+            Assertions.assertThat(((TableGenerator) descriptor.getGenerator()).getOptimizer()).isInstanceOf(ReservedPooledLoOptimizer.class);
+        });
+
+        Assertions.assertThat(entities).contains(RevokedToken.class.getName());
+    }
+
+    @Test
+    public void save_ConcurrentInsertsAcrossIdBlocksOnSmallPool_AssignDistinctIds() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> inserts = new ArrayList<>();
+
+        try {
+            for (int thread = 0; thread < THREADS; thread++) {
+                inserts.add(executor.submit(() -> {
+                    start.await();
+                    transactionTemplate.executeWithoutResult(status -> {
+                        for (int i = 0; i < INSERTS_PER_THREAD; i++) {
+                            revokedTokenRepository.save(RevokedToken.builder()
+                                .jti(UUID.randomUUID().toString())
+                                .expiryDate(LocalDateTime.now().plusHours(1))
+                                .build());
+                        }
+                    });
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<?> insert : inserts) {
+                insert.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Integer distinctIds = jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id) FROM revoked_tokens", Integer.class);
+        Assertions.assertThat(distinctIds).isEqualTo(THREADS * INSERTS_PER_THREAD);
+    }
+}
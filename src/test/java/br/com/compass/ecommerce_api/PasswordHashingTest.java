@@ -0,0 +1,72 @@
+package br.com.compass.ecommerce_api;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import br.com.compass.ecommerce_api.dtos.UserSaveDto;
+import br.com.compass.ecommerce_api.exceptions.ErrorMessage;
+import br.com.compass.ecommerce_api.services.PasswordHashingService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "ecommerce.password.hashing-threads=1",
+    "ecommerce.password.queue-capacity=0"
+})
+@SuppressWarnings("null")
+public class PasswordHashingTest {
+
+    // BCrypt takes the cost from the stored hash, so checking against this one keeps the only
+    // hashing thread busy for a few seconds.
+    private static final String SLOW_HASH = "$2a$16$" + "a".repeat(53);
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    PasswordHashingService passwordHashingService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void save_HashingPoolBusy_ReturnErrorMessageWithRetryAfterStatus429() {
+        CompletableFuture<Boolean> busy = CompletableFuture.supplyAsync(() -> passwordHashingService.matches("123456", SLOW_HASH));
+        EntityExchangeResult<ErrorMessage> result = null;
+        String email = null;
+
+        try {
+            for (int attempt = 0; attempt < 50; attempt++) {
+                email = "busy" + attempt + "@gmail.com";
+                result = webTestClient
+                    .post()
+                    .uri("/api/v1/users")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new UserSaveDto("Seto Kaiba", email, "123456"))
+                    .exchange()
+                    .expectBody(ErrorMessage.class)
+                    .returnResult();
+
+                if (result.getStatus() == HttpStatus.TOO_MANY_REQUESTS) {
+                    break;
+                }
+            }
+        } finally {
+            busy.join();
+        }
+
+        Assertions.assertThat(result.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        Assertions.assertThat(result.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        Assertions.assertThat(result.getResponseBody()).isNotNull();
+        Assertions.assertThat(result.getResponseBody().getStatus()).isEqualTo(429);
+        Assertions.assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email = ?", Integer.class, email)).isZero();
+    }
+}
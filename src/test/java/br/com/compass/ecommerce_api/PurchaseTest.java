@@ -0,0 +1,455 @@
+package br.com.compass.ecommerce_api;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import br.com.compass.ecommerce_api.dtos.CartItemSaveDto;
+import br.com.compass.ecommerce_api.dtos.PageableDto;
+import br.com.compass.ecommerce_api.dtos.ProductNameUpdateDto;
+import br.com.compass.ecommerce_api.dtos.ProductResponseDto;
+import br.com.compass.ecommerce_api.dtos.StockAlterDto;
+import br.com.compass.ecommerce_api.dtos.StockResponseDto;
+import br.com.compass.ecommerce_api.exceptions.ErrorMessage;
+import br.com.compass.ecommerce_api.services.BestSellersRanking;
+import br.com.compass.ecommerce_api.services.CartItemService;
+import br.com.compass.ecommerce_api.services.ProductSearchIndex;
+import br.com.compass.ecommerce_api.services.PurchaseRollupService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = {"/sql/users/users-insert.sql", "/sql/purchases/purchases-insert.sql"},
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"/sql/purchases/purchases-delete.sql", "/sql/users/users-delete.sql"},
+    executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@SuppressWarnings("null")
+public class PurchaseTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PurchaseRollupService purchaseRollupService;
+
+    @Autowired
+    BestSellersRanking bestSellersRanking;
+
+    @Autowired
+    ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    CartItemService cartItemService;
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void performPurchase_ValidCart_UpdatesStockAndClearsCartStatus200() {
+        bestSellersRanking.rebuild();
+
+        webTestClient
+            .post()
+            .uri("/api/v1/purchases/perform-purchase/3")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "tea@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk();
+
+        PageableDto bestSelling = webTestClient
+            .get()
+            .uri("/api/v1/products/best-selling")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(PageableDto.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(bestSelling).isNotNull();
+        Assertions.assertThat(bestSelling.getContent()).hasSize(3);
+        Assertions.assertThat(bestSelling.getContent().get(0)).hasFieldOrPropertyWithValue("id", 1);
+        Assertions.assertThat(bestSelling.getContent().get(0)).hasFieldOrPropertyWithValue("timesPurchased", 2);
+
+        bestSellersRanking.flush();
+
+        StockResponseDto stock = webTestClient
+            .get()
+            .uri("/api/v1/stock/1")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(StockResponseDto.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(stock).isNotNull();
+        Assertions.assertThat(stock.getQuantity()).isEqualTo(8);
+
+        ProductResponseDto product = webTestClient
+            .get()
+            .uri("/api/v1/products/2")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(ProductResponseDto.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(product).isNotNull();
+        Assertions.assertThat(product.getTimesPurchased()).isEqualTo(1);
+
+        PageableDto cart = webTestClient
+            .get()
+            .uri("/api/v1/cart/3")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "tea@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(PageableDto.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(cart).isNotNull();
+        Assertions.assertThat(cart.getContent()).isEmpty();
+
+        PageableDto topBuyers = webTestClient
+            .get()
+            .uri("/api/v1/purchases/top-buyers")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(PageableDto.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(topBuyers).isNotNull();
+        Assertions.assertThat(topBuyers.getContent()).isNotEmpty();
+        Assertions.assertThat(topBuyers.getContent().get(0)).hasFieldOrPropertyWithValue("userId", 3);
+    }
+
+    @Test
+    public void performPurchase_InsufficientStock_ReturnErrorMessageStatus409() {
+        ErrorMessage responseBody = webTestClient
+            .post()
+            .uri("/api/v1/purchases/perform-purchase/2")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "joey@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isEqualTo(409)
+            .expectBody(ErrorMessage.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getStatus()).isEqualTo(409);
+
+        StockResponseDto stock = webTestClient
+            .get()
+            .uri("/api/v1/stock/3")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(StockResponseDto.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(stock).isNotNull();
+        Assertions.assertThat(stock.getQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    public void performPurchase_EmptyCart_ReturnErrorMessageStatus409() {
+        ErrorMessage responseBody = webTestClient
+            .post()
+            .uri("/api/v1/purchases/perform-purchase/1")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isEqualTo(409)
+            .expectBody(ErrorMessage.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getStatus()).isEqualTo(409);
+    }
+
+    @Test
+    public void addToCart_QuantityAboveStock_ReturnErrorMessageStatus409() {
+        ErrorMessage responseBody = webTestClient
+            .post()
+            .uri("/api/v1/cart")
+            .contentType(MediaType.APPLICATION_JSON)
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "joey@gmail.com", "123456"))
+            .bodyValue(new CartItemSaveDto(2L, 1L, 11))
+            .exchange()
+            .expectStatus().isEqualTo(409)
+            .expectBody(ErrorMessage.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getStatus()).isEqualTo(409);
+
+        webTestClient
+            .post()
+            .uri("/api/v1/cart")
+            .contentType(MediaType.APPLICATION_JSON)
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "joey@gmail.com", "123456"))
+            .bodyValue(new CartItemSaveDto(2L, 1L, 1))
+            .exchange()
+            .expectStatus().isNoContent();
+    }
+
+    @Test
+    public void decreaseStock_AvailableQuantity_DecrementsStockStatus204() {
+        webTestClient
+            .patch()
+            .uri("/api/v1/stock/decrease-stock/1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .bodyValue(new StockAlterDto(4))
+            .exchange()
+            .expectStatus().isNoContent();
+
+        Integer quantity = jdbcTemplate.queryForObject("SELECT quantity FROM stock WHERE id = 1", Integer.class);
+        Assertions.assertThat(quantity).isEqualTo(6);
+    }
+
+    @Test
+    public void decreaseStock_QuantityAboveStock_ReturnErrorMessageStatus409() {
+        ErrorMessage responseBody = webTestClient
+            .patch()
+            .uri("/api/v1/stock/decrease-stock/3")
+            .contentType(MediaType.APPLICATION_JSON)
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .bodyValue(new StockAlterDto(2))
+            .exchange()
+            .expectStatus().isEqualTo(409)
+            .expectBody(ErrorMessage.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getStatus()).isEqualTo(409);
+
+        Integer quantity = jdbcTemplate.queryForObject("SELECT quantity FROM stock WHERE id = 3", Integer.class);
+        Assertions.assertThat(quantity).isEqualTo(1);
+    }
+
+    @Test
+    public void decreaseStock_NonExistentId_ReturnErrorMessageStatus404() {
+        ErrorMessage responseBody = webTestClient
+            .patch()
+            .uri("/api/v1/stock/decrease-stock/99")
+            .contentType(MediaType.APPLICATION_JSON)
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .bodyValue(new StockAlterDto(1))
+            .exchange()
+            .expectStatus().isNotFound()
+            .expectBody(ErrorMessage.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    public void findProductById_IfNoneMatch_ReturnNotModifiedUntilProductChanges() {
+        String etag = webTestClient
+            .get()
+            .uri("/api/v1/products/3")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().exists("ETag")
+            .returnResult(ProductResponseDto.class)
+            .getResponseHeaders().getETag();
+
+        webTestClient
+            .get()
+            .uri("/api/v1/products/3")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .header("If-None-Match", etag)
+            .exchange()
+            .expectStatus().isNotModified()
+            .expectBody().isEmpty();
+
+        webTestClient
+            .patch()
+            .uri("/api/v1/products/update-name/3")
+            .contentType(MediaType.APPLICATION_JSON)
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .bodyValue(new ProductNameUpdateDto("Red-Eyes Darkness Dragon"))
+            .exchange()
+            .expectStatus().isNoContent();
+
+        ProductResponseDto product = webTestClient
+            .get()
+            .uri("/api/v1/products/3")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .header("If-None-Match", etag)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(ProductResponseDto.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(product).isNotNull();
+        Assertions.assertThat(product.getName()).isEqualTo("Red-Eyes Darkness Dragon");
+    }
+
+    @Test
+    public void searchProducts_TypoPrefixAndPriceFilter_ReturnMatchesStatus200() {
+        productSearchIndex.rebuild();
+
+        webTestClient
+            .get()
+            .uri("/api/v1/products/search?q=dragn")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "tea@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.totalElements").isEqualTo(2);
+
+        webTestClient
+            .get()
+            .uri("/api/v1/products/search?q=wiz")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "tea@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.totalElements").isEqualTo(1)
+            .jsonPath("$.content[0].name").isEqualTo("Dark Magician");
+
+        webTestClient
+            .get()
+            .uri("/api/v1/products/search?q=dragon&status=ACTIVE&maxAmount=40")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "tea@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.totalElements").isEqualTo(1)
+            .jsonPath("$.content[0].name").isEqualTo("Red-Eyes Black Dragon");
+
+        webTestClient
+            .get()
+            .uri("/api/v1/products/search?q=dragon&sortBy=price")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "tea@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void searchProducts_PriceBoundsBeyondLongRange_ReturnMatchesStatus200() {
+        productSearchIndex.rebuild();
+
+        webTestClient
+            .get()
+            .uri("/api/v1/products/search?q=dragon&minAmount=-1e30&maxAmount=1e30")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "tea@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.totalElements").isEqualTo(2);
+
+        webTestClient
+            .get()
+            .uri("/api/v1/products/search?q=dragon&minAmount=1e30")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "tea@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.totalElements").isEqualTo(0);
+    }
+
+    @Test
+    public void searchProducts_OffsetBeyondIntRange_ReturnEmptyPageStatus200() {
+        productSearchIndex.rebuild();
+
+        webTestClient
+            .get()
+            .uri("/api/v1/products/search?q=dragon&page=2000000&size=2000")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "tea@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.content.length()").isEqualTo(0)
+            .jsonPath("$.totalElements").isEqualTo(2);
+    }
+
+    @Test
+    public void importProducts_MixedRows_ImportValidRowsAndReportErrorsStatus200() {
+        String ndjson = """
+            {"name": "Exodia the Forbidden One", "description": "Unstoppable when assembled", "amount": 250.00, "quantity": 4}
+            {"name": "Dark Magician", "description": "Ultimate wizard card", "amount": 50.00}
+            {"name": "Kuriboh", "description": "Fuzzy defender", "amount": -1}
+            {"name": "Broken"
+            """;
+
+        webTestClient
+            .post()
+            .uri("/api/v1/products/import")
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .bodyValue(ndjson)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.processed").isEqualTo(4)
+            .jsonPath("$.imported").isEqualTo(1)
+            .jsonPath("$.failed").isEqualTo(3)
+            .jsonPath("$.errors[0].row").isEqualTo(3)
+            .jsonPath("$.errors[1].row").isEqualTo(4)
+            .jsonPath("$.errors[2].name").isEqualTo("Dark Magician");
+
+        String csv = """
+            name,description,amount,quantity
+            "Summoned Skull","Fiend, summoned from beyond",45.90,
+            """;
+
+        webTestClient
+            .post()
+            .uri("/api/v1/products/import")
+            .contentType(MediaType.parseMediaType("text/csv"))
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .bodyValue(csv)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.imported").isEqualTo(1)
+            .jsonPath("$.failed").isEqualTo(0);
+
+        Integer quantity = jdbcTemplate.queryForObject(
+            "SELECT s.quantity FROM stock s JOIN products p ON p.id = s.product_id WHERE p.name = ?",
+            Integer.class, "Exodia the Forbidden One");
+        Assertions.assertThat(quantity).isEqualTo(4);
+
+        Integer products = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Integer.class);
+        Assertions.assertThat(products).isEqualTo(5);
+    }
+
+    @Test
+    public void getTotals_SealedAndOpenHours_MatchRawPurchases() {
+        LocalDateTime now = LocalDateTime.now();
+
+        jdbcTemplate.update("INSERT INTO purchases (id, user_id, total_amount, purchase_date) VALUES (?, ?, ?, ?)",
+            1, 2, new BigDecimal("100.00"), now.minusHours(3));
+        jdbcTemplate.update("INSERT INTO purchases (id, user_id, total_amount, purchase_date) VALUES (?, ?, ?, ?)",
+            2, 3, new BigDecimal("50.00"), now.minusHours(2));
+        jdbcTemplate.update("INSERT INTO purchases (id, user_id, total_amount, purchase_date) VALUES (?, ?, ?, ?)",
+            3, 3, new BigDecimal("25.00"), now.minusSeconds(1));
+
+        purchaseRollupService.sealCompletedHours();
+
+        Integer sealedBuckets = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM purchase_rollups", Integer.class);
+        Assertions.assertThat(sealedBuckets).isGreaterThanOrEqualTo(2);
+
+        LocalDateTime start = now.minusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+        Assertions.assertThat(purchaseRollupService.getTotalAmount(start, now)).isEqualByComparingTo("175.00");
+        Assertions.assertThat(purchaseRollupService.getTotalPurchases(start, now)).isEqualTo(3);
+    }
+
+    @Test
+    public void cartReads_TwoItemCart_RunOneStatementEach() {
+        Assertions.assertThat(QueryCount.assertQueryCount(1, () -> cartItemService.findCheckoutItems(3L))).hasSize(2);
+        Assertions.assertThat(QueryCount.assertQueryCount(1, () -> cartItemService.getCart(3L, PageRequest.of(0, 10)))).hasSize(2);
+        Assertions.assertThat(QueryCount.assertQueryCount(1, () -> cartItemService.getCartAfter(3L, 0L, 10))).hasSize(2);
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.compass.ecommerce_api;
+
+import java.util.function.Supplier;
+
+import org.assertj.core.api.Assertions;
+
+import br.com.compass.ecommerce_api.monitoring.SqlStatementCounter;
+
+public class QueryCount {
+
+    public static <T> T assertQueryCount(int expected, Supplier<T> action) {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            T result = action.get();
+
+            Assertions.assertThat(scope.getCount())
+                .as("SQL statements run, most repeated: %s", scope.getMostRepeated())
+                .isEqualTo(expected);
+            return result;
+        }
+    }
+
+    public static void assertQueryCount(int expected, Runnable action) {
+        assertQueryCount(expected, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -1,18 +1,36 @@
 package br.com.compass.ecommerce_api;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import br.com.compass.ecommerce_api.dtos.CursorPageDto;
 import br.com.compass.ecommerce_api.dtos.PageableDto;
+import br.com.compass.ecommerce_api.dtos.PasswordResetDto;
+import br.com.compass.ecommerce_api.dtos.UserEmailDto;
+import br.com.compass.ecommerce_api.dtos.UserLoginDto;
 import br.com.compass.ecommerce_api.dtos.UserResponseDto;
 import br.com.compass.ecommerce_api.dtos.UserSaveDto;
 import br.com.compass.ecommerce_api.enums.UserRole;
 import br.com.compass.ecommerce_api.exceptions.ErrorMessage;
+import br.com.compass.ecommerce_api.jwt.JwtUserDetailsService;
+import br.com.compass.ecommerce_api.services.UserService;
+import jakarta.mail.internet.MimeMessage;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Sql(scripts = "/sql/users/users-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
@@ -20,9 +38,24 @@ import br.com.compass.ecommerce_api.exceptions.ErrorMessage;
 @SuppressWarnings("null")
 public class UserTest {
 
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
     @Autowired
     WebTestClient webTestClient;
 
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    JwtUserDetailsService jwtUserDetailsService;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    JavaMailSenderImpl mailSender;
+
     @Test
     public void save_ValidCredentials_ReturnCreatedUserStatus201() {
         UserResponseDto responseBody = webTestClient
@@ -265,6 +298,89 @@ public class UserTest {
         Assertions.assertThat(responseBody.getTotalPages()).isEqualTo(3);
     }
 
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void findAll_PaginationWithoutExactCount_ReturnClientsStatus200() {
+        webTestClient
+            .get()
+            .uri("/api/v1/users?size=2&count=false")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.content.length()").isEqualTo(2)
+            .jsonPath("$.hasNext").isEqualTo(true)
+            .jsonPath("$.totalElements").doesNotExist();
+
+        PageableDto responseBody = webTestClient
+            .get()
+            .uri("/api/v1/users?size=2&count=approximate")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(PageableDto.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getContent().size()).isEqualTo(2);
+        Assertions.assertThat(responseBody.isHasNext()).isTrue();
+        Assertions.assertThat(responseBody.getTotalElements()).isGreaterThanOrEqualTo(3);
+
+        webTestClient
+            .get()
+            .uri("/api/v1/users?count=maybe")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void scroll_CursorPaginationAdmin_ReturnClientsStatus200() {
+        CursorPageDto responseBody = webTestClient
+            .get()
+            .uri("/api/v1/users/scroll?size=2")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(CursorPageDto.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getContent().size()).isEqualTo(2);
+        Assertions.assertThat(responseBody.isHasNext()).isTrue();
+        Assertions.assertThat(responseBody.getNextCursor()).isNotNull();
+
+        responseBody = webTestClient
+            .get()
+            .uri("/api/v1/users/scroll?size=2&after={after}", responseBody.getNextCursor())
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(CursorPageDto.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getContent().size()).isEqualTo(1);
+        Assertions.assertThat(responseBody.isHasNext()).isFalse();
+        Assertions.assertThat(responseBody.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void scroll_InvalidCursor_ReturnErrorMessageStatus400() {
+        ErrorMessage responseBody = webTestClient
+            .get()
+            .uri("/api/v1/users/scroll?after=not-a-cursor")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody(ErrorMessage.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getStatus()).isEqualTo(400);
+    }
+
     @Test
     public void findAll_PaginationClient_ReturnErrorMessage403() {
         ErrorMessage responseBody = webTestClient
@@ -279,4 +395,153 @@ public class UserTest {
         Assertions.assertThat(responseBody).isNotNull();
         Assertions.assertThat(responseBody.getStatus()).isEqualTo(403);
     }
+
+    @Test
+    public void requestPasswordReset_OwnAccount_DeliverResetLinkThroughOutbox() throws Exception {
+        webTestClient
+            .post()
+            .uri("/api/v1/users/password-reset/request")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "tea@gmail.com", "123456"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new UserEmailDto("tea@gmail.com"))
+            .exchange()
+            .expectStatus().isOk();
+
+        Assertions.assertThat(smtp.waitForIncomingEmail(5000, 1)).isTrue();
+
+        MimeMessage message = smtp.getReceivedMessages()[0];
+        Assertions.assertThat(message.getAllRecipients()[0].toString()).isEqualTo("tea@gmail.com");
+        Assertions.assertThat(message.getSubject()).isEqualTo("Password Reset Request");
+        Assertions.assertThat(GreenMailUtil.getBody(message)).contains("password-reset/confirm?token=");
+    }
+
+    @Test
+    public void dispatchOutbox_SmtpUnavailable_BackOffAndFailAfterMaxAttempts() throws Exception {
+        String smtpHost = mailSender.getHost();
+        LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+        mailSender.setHost("smtp.invalid");
+
+        try {
+            for (long[] email : new long[][] {{900001, 0}, {900002, 3}, {900003, 7}}) {
+                jdbcTemplate.update("INSERT INTO email_outbox (id, recipient, subject, body, status, attempts, next_attempt_at) "
+                    + "VALUES (?, 'tea@gmail.com', 'Password Reset Request', 'Reset link', 'PENDING', ?, ?)",
+                    email[0], email[1], before);
+            }
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM email_outbox WHERE last_error IS NULL", Integer.class) > 0
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+        } finally {
+            mailSender.setHost(smtpHost);
+        }
+
+        LocalDateTime after = LocalDateTime.now();
+        Map<String, Object> first = jdbcTemplate.queryForMap("SELECT * FROM email_outbox WHERE id = 900001");
+        Map<String, Object> capped = jdbcTemplate.queryForMap("SELECT * FROM email_outbox WHERE id = 900002");
+        Map<String, Object> failed = jdbcTemplate.queryForMap("SELECT * FROM email_outbox WHERE id = 900003");
+
+        Assertions.assertThat(first.get("STATUS")).isEqualTo("PENDING");
+        Assertions.assertThat(first.get("ATTEMPTS")).isEqualTo(1);
+        Assertions.assertThat(first.get("LAST_ERROR")).isNotNull();
+        Assertions.assertThat(((Timestamp) first.get("NEXT_ATTEMPT_AT")).toLocalDateTime())
+            .isBetween(before.plusSeconds(30), after.plusSeconds(30));
+
+        Assertions.assertThat(capped.get("STATUS")).isEqualTo("PENDING");
+        Assertions.assertThat(capped.get("ATTEMPTS")).isEqualTo(4);
+        Assertions.assertThat(((Timestamp) capped.get("NEXT_ATTEMPT_AT")).toLocalDateTime())
+            .isBetween(before.plusMinutes(2), after.plusMinutes(2));
+
+        Assertions.assertThat(failed.get("STATUS")).isEqualTo("FAILED");
+        Assertions.assertThat(failed.get("ATTEMPTS")).isEqualTo(8);
+        Assertions.assertThat(failed.get("LAST_ERROR")).isNotNull();
+    }
+
+    @Test
+    public void confirmPasswordReset_CachedPrincipal_EvictPrincipalAndRole() {
+        Assertions.assertThat(jwtUserDetailsService.loadPrincipalByUsername("tea@gmail.com").getRole()).isEqualTo("CLIENT");
+        Assertions.assertThat(userService.findRoleByEmail("tea@gmail.com")).isEqualTo(UserRole.CLIENT);
+
+        jdbcTemplate.update("UPDATE users SET role = 'ADMIN' WHERE email = 'tea@gmail.com'");
+
+        Assertions.assertThat(jwtUserDetailsService.loadPrincipalByUsername("tea@gmail.com").getRole()).isEqualTo("CLIENT");
+        Assertions.assertThat(userService.findRoleByEmail("tea@gmail.com")).isEqualTo(UserRole.CLIENT);
+
+        webTestClient
+            .post()
+            .uri("/api/v1/users/password-reset/request")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "tea@gmail.com", "123456"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new UserEmailDto("tea@gmail.com"))
+            .exchange()
+            .expectStatus().isOk();
+
+        String token = jdbcTemplate.queryForObject("SELECT token FROM password_tokens", String.class);
+
+        webTestClient
+            .patch()
+            .uri("/api/v1/users/password-reset/confirm?token={token}", token)
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "tea@gmail.com", "123456"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new PasswordResetDto("654321", "654321"))
+            .exchange()
+            .expectStatus().isNoContent();
+
+        Assertions.assertThat(jwtUserDetailsService.loadPrincipalByUsername("tea@gmail.com").getRole()).isEqualTo("ADMIN");
+        Assertions.assertThat(userService.findRoleByEmail("tea@gmail.com")).isEqualTo(UserRole.ADMIN);
+
+        webTestClient
+            .post()
+            .uri("/api/v1/auth")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new UserLoginDto("tea@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isBadRequest();
+
+        webTestClient
+            .get()
+            .uri("/api/v1/users")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "tea@gmail.com", "654321"))
+            .exchange()
+            .expectStatus().isOk();
+    }
+
+    @Test
+    public void prometheus_AfterRequest_ExposeServiceJwtRepositoryAndHibernateMetricsStatus200() {
+        webTestClient
+            .get()
+            .uri("/api/v1/users/1")
+            .headers(JwtAuthentication.getHeaderAuthorization(webTestClient, "yugi@gmail.com", "123456"))
+            .exchange()
+            .expectStatus().isOk();
+
+        webTestClient
+            .get()
+            .uri("/actuator/prometheus")
+            .exchange()
+            .expectStatus().isUnauthorized();
+
+        webTestClient
+            .get()
+            .uri("/actuator/prometheus")
+            .headers(headers -> headers.setBasicAuth("prometheus", "wrong-secret"))
+            .exchange()
+            .expectStatus().isUnauthorized();
+
+        String responseBody = webTestClient
+            .get()
+            .uri("/actuator/prometheus")
+            .headers(headers -> headers.setBasicAuth("prometheus", "scrape-secret"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(String.class)
+            .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody).contains("ecommerce_service_seconds_count{class=\"br.com.compass.ecommerce_api.services.UserService\"");
+        Assertions.assertThat(responseBody).contains("ecommerce_jwt_verification_seconds_count");
+        Assertions.assertThat(responseBody).contains("spring_data_repository_invocations_seconds_count");
+        Assertions.assertThat(responseBody).contains("hibernate_statements_total");
+    }
 }
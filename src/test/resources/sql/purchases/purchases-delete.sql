@@ -0,0 +1,7 @@
+SET REFERENTIAL_INTEGRITY FALSE;
+TRUNCATE TABLE cart_items RESTART IDENTITY;
+TRUNCATE TABLE purchases RESTART IDENTITY;
+TRUNCATE TABLE purchase_rollups RESTART IDENTITY;
+TRUNCATE TABLE stock RESTART IDENTITY;
+TRUNCATE TABLE products RESTART IDENTITY;
+SET REFERENTIAL_INTEGRITY TRUE;
\ No newline at end of file
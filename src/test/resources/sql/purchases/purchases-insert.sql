@@ -0,0 +1,14 @@
+INSERT INTO products (id, name, description, amount, status, times_purchased) VALUES (1, 'Blue-Eyes White Dragon', 'Legendary dragon card', 100.00, 'ACTIVE', 0);
+INSERT INTO products (id, name, description, amount, status, times_purchased) VALUES (2, 'Dark Magician', 'Ultimate wizard card', 50.00, 'ACTIVE', 0);
+INSERT INTO products (id, name, description, amount, status, times_purchased) VALUES (3, 'Red-Eyes Black Dragon', 'Dragon of potential', 30.00, 'ACTIVE', 0);
+INSERT INTO stock (id, product_id, quantity) VALUES (1, 1, 10);
+INSERT INTO stock (id, product_id, quantity) VALUES (2, 2, 5);
+INSERT INTO stock (id, product_id, quantity) VALUES (3, 3, 1);
+INSERT INTO cart_items (id, user_id, product_id, quantity) VALUES (1, 3, 1, 2);
+INSERT INTO cart_items (id, user_id, product_id, quantity) VALUES (2, 3, 2, 1);
+INSERT INTO cart_items (id, user_id, product_id, quantity) VALUES (3, 2, 3, 2);
+UPDATE id_generators SET next_val = 100 WHERE sequence_name = 'products' AND next_val < 100;
+UPDATE id_generators SET next_val = 100 WHERE sequence_name = 'stock' AND next_val < 100;
+UPDATE id_generators SET next_val = 100 WHERE sequence_name = 'cart_items' AND next_val < 100;
+UPDATE id_generators SET next_val = 100 WHERE sequence_name = 'purchases' AND next_val < 100;
+UPDATE id_generators SET next_val = 100 WHERE sequence_name = 'purchase_rollups' AND next_val < 100;
@@ -1 +1,7 @@
-TRUNCATE TABLE users RESTART IDENTITY;
\ No newline at end of file
+SET REFERENTIAL_INTEGRITY FALSE;
+TRUNCATE TABLE email_outbox;
+TRUNCATE TABLE password_tokens;
+TRUNCATE TABLE refresh_tokens;
+TRUNCATE TABLE revoked_tokens;
+TRUNCATE TABLE users RESTART IDENTITY;
+SET REFERENTIAL_INTEGRITY TRUE;
@@ -1,3 +1,5 @@
-INSERT INTO users (name, email, password, role) VALUES ('Yugi Muto', 'yugi@gmail.com', '$2a$10$DybF0RwnLnlGzmTajn1zWOuEKfsd6V00HQHT7wZMFsozIkL9zK4Ve', 'ADMIN');
-INSERT INTO users (name, email, password, role) VALUES ('Joey Wheeler', 'joey@gmail.com', '$2a$10$DybF0RwnLnlGzmTajn1zWOuEKfsd6V00HQHT7wZMFsozIkL9zK4Ve', 'CLIENT');
-INSERT INTO users (name, email, password, role) VALUES ('Tea Gardner', 'tea@gmail.com', '$2a$10$DybF0RwnLnlGzmTajn1zWOuEKfsd6V00HQHT7wZMFsozIkL9zK4Ve', 'CLIENT');
\ No newline at end of file
+INSERT INTO users (id, name, email, password, role) VALUES (1, 'Yugi Muto', 'yugi@gmail.com', '$2a$10$DybF0RwnLnlGzmTajn1zWOuEKfsd6V00HQHT7wZMFsozIkL9zK4Ve', 'ADMIN');
+INSERT INTO users (id, name, email, password, role) VALUES (2, 'Joey Wheeler', 'joey@gmail.com', '$2a$10$DybF0RwnLnlGzmTajn1zWOuEKfsd6V00HQHT7wZMFsozIkL9zK4Ve', 'CLIENT');
+INSERT INTO users (id, name, email, password, role) VALUES (3, 'Tea Gardner', 'tea@gmail.com', '$2a$10$DybF0RwnLnlGzmTajn1zWOuEKfsd6V00HQHT7wZMFsozIkL9zK4Ve', 'CLIENT');
+UPDATE id_generators SET next_val = 100 WHERE sequence_name = 'users' AND next_val < 100;
+UPDATE id_generators SET next_val = 100 WHERE sequence_name = 'password_tokens' AND next_val < 100;